@@ -6,7 +6,6 @@ import { Profile } from "./components/profile/Profile";
 import { Input } from "../input/Input";
 import { useWebSocket } from "../../features/ws/WebSocketContextProvider";
 import { request } from "../../utils/api";
-import type { Notification } from "../../features/feed/pages/notifications/Notification";
 
 
 export function Header() {
@@ -17,10 +16,7 @@ export function Header() {
     window.innerWidth > 1080 ? true : false
   );
 
-  const [notifications, setNotifications] = useState<Notification[]>([]);
-  const nonReadNotificationCount = notifications.filter(
-    (notification) => !notification.read
-  ).length;
+  const [nonReadNotificationCount, setNonReadNotificationCount] = useState(0);
 
   useEffect(() => {
     const handleResize = () => {
@@ -30,27 +26,22 @@ export function Header() {
     return () => window.removeEventListener("resize", handleResize);
   }, []);
 
-  useEffect(() => {
-    request<Notification[]>({
-      endpoint: "/api/v1/notifications",
-      onSuccess: setNotifications,
+  // The badge reads a server-side counter instead of counting a full notification list
+  const fetchUnreadCount = () =>
+    request<{ count: number }>({
+      endpoint: "/api/v1/notifications/unread-count",
+      onSuccess: (data) => setNonReadNotificationCount(data.count),
       onFailure: (error) => console.log(error),
     });
+
+  useEffect(() => {
+    fetchUnreadCount();
   }, []);
 
   useEffect(() => {
     const subscribtion = webSocketClient?.subscribe(
       `/topic/users/${user?.id}/notifications`,
-      (message) => {
-        const notification = JSON.parse(message.body);
-        setNotifications((prev) => {
-          const index = prev.findIndex((n) => n.id === notification.id);
-          if (index === -1) {
-            return [notification, ...prev];
-          }
-          return prev.map((n) => (n.id === notification.id ? notification : n));
-        });
-      }
+      () => fetchUnreadCount()
     );
     return () => subscribtion?.unsubscribe();
   }, [user?.id, webSocketClient]);
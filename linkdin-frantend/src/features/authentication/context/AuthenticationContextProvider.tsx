@@ -15,6 +15,12 @@ interface AuthenticationResponse {
   token: string;
   messgage: string;
 }
+export interface PictureRenditions {
+  avatar: string;
+  feed: string;
+  full: string;
+}
+
 export interface User {
   id: string;
   email: string;
@@ -26,6 +32,7 @@ export interface User {
   location?: string;
   profileComplete: boolean;
   profilePicture?: string;
+  profilePictureRenditions?: PictureRenditions;
 }
 
 interface AuthenticationContextType {
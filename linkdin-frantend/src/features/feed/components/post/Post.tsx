@@ -1,8 +1,8 @@
 
-import { useEffect, useState, type Dispatch, type FormEvent, type SetStateAction } from "react";
+import { useCallback, useEffect, useState, type Dispatch, type FormEvent, type SetStateAction } from "react";
 import classes from "./Post.module.scss";
 import { useNavigate } from "react-router-dom";
-import { useAuthentication, type User } from "../../../authentication/context/AuthenticationContextProvider";
+import { useAuthentication, type PictureRenditions, type User } from "../../../authentication/context/AuthenticationContextProvider";
 import { request } from "../../../../utils/api";
 import { Madal } from "../modal/Model";
 import Comment from "../comment/Comment";
@@ -16,8 +16,18 @@ export interface Post {
   content: string;
   author: User;
   picture?: string;
+  pictureRenditions?: PictureRenditions;
   creationDate: string;
   updatedDate?: string;
+  likeCount: number;
+  commentCount: number;
+}
+
+interface LikeEvent {
+  postId: number;
+  userId: string;
+  delta: number;
+  newCount: number;
 }
 
 interface PostProps {
@@ -29,6 +39,8 @@ export function Post({ post, setPosts }: PostProps) {
   const [comments, setComments] = useState<Comment[]>([]);
   const [showComments, setShowComments] = useState(false);
   const [likes, setLikes] = useState<User[]>([]);
+  const [likeCount, setLikeCount] = useState(post.likeCount ?? 0);
+  const [commentCount, setCommentCount] = useState(post.commentCount ?? 0);
   const [content, setContent] = useState("");
   const navigate = useNavigate();
   const { user } = useAuthentication();
@@ -38,6 +50,16 @@ export function Post({ post, setPosts }: PostProps) {
 
   const [postLiked, setPostLiked] = useState<boolean | undefined>(undefined);
 
+  const refreshCommentCount = useCallback(() => {
+    request<{ count: number }>({
+      endpoint: `/api/v1/feed/posts/${post.id}/comments/count`,
+      onSuccess: (data) => setCommentCount(data.count),
+      onFailure: (error) => {
+        console.error(error);
+      },
+    });
+  }, [post.id]);
+
   useEffect(() => {
     const fetchComments = async () => {
       await request<Comment[]>({
@@ -53,16 +75,25 @@ export function Post({ post, setPosts }: PostProps) {
 
   useEffect(() => {
     const subscription = webSocketClient?.subscribe(`/topic/likes/${post.id}`, (message) => {
-      const likes = JSON.parse(message.body);
-      setLikes(likes);
-      setPostLiked(likes.some((like: User) => like.id === user?.id));
+      const event: LikeEvent = JSON.parse(message.body);
+      setLikeCount(event.newCount);
+      if (event.delta < 0) {
+        setLikes((prev) => prev.filter((like) => like.id !== event.userId));
+      }
+      if (event.userId === user?.id) {
+        setPostLiked(event.delta > 0);
+        if (event.delta > 0 && user) {
+          setLikes((prev) => [user, ...prev.filter((like) => like.id !== user.id)]);
+        }
+      }
     });
     return () => subscription?.unsubscribe();
-  }, [post.id, user?.id, webSocketClient]);
+  }, [post.id, user, webSocketClient]);
 
   useEffect(() => {
     const subscription = webSocketClient?.subscribe(`/topic/comments/${post.id}`, (message) => {
       const comment = JSON.parse(message.body);
+      refreshCommentCount();
       setComments((prev) => {
         const index = prev.findIndex((c) => c.id === comment.id);
         if (index === -1) {
@@ -73,13 +104,14 @@ export function Post({ post, setPosts }: PostProps) {
     });
 
     return () => subscription?.unsubscribe();
-  }, [post.id, webSocketClient]);
+  }, [post.id, webSocketClient, refreshCommentCount]);
 
   useEffect(() => {
     const subscription = webSocketClient?.subscribe(
       `/topic/comments/${post.id}/delete`,
       (message) => {
         const comment = JSON.parse(message.body);
+        refreshCommentCount();
         setComments((prev) => {
           return prev.filter((c) => c.id !== comment.id);
         });
@@ -87,16 +119,20 @@ export function Post({ post, setPosts }: PostProps) {
     );
 
     return () => subscription?.unsubscribe();
-  }, [post.id, webSocketClient]);
+  }, [post.id, webSocketClient, refreshCommentCount]);
 
   useEffect(() => {
     const fetchLikes = async () => {
       await request<User[]>({
-        endpoint: `/api/v1/feed/posts/${post.id}/likes`,
-        onSuccess: (data) => {
-          setLikes(data);
-          setPostLiked(data.some((like) => like.id === user?.id));
+        endpoint: `/api/v1/feed/posts/${post.id}/likes?limit=5`,
+        onSuccess: (data) => setLikes(data),
+        onFailure: (error) => {
+          console.error(error);
         },
+      });
+      await request<{ liked: boolean }>({
+        endpoint: `/api/v1/feed/posts/${post.id}/likes/me`,
+        onSuccess: (data) => setPostLiked(data.liked),
         onFailure: (error) => {
           console.error(error);
         },
@@ -223,7 +259,7 @@ export function Post({ post, setPosts }: PostProps) {
             >
               <img
                 className={classes.avatar}
-                src={post.author.profilePicture || "/avatar.png"}
+                src={post.author.profilePictureRenditions?.avatar || "/avatar.png"}
                 alt=""
               />
             </button>
@@ -257,14 +293,20 @@ export function Post({ post, setPosts }: PostProps) {
           </div>
         </div>
         <div className={classes.content}>{post.content}</div>
-        {post.picture && <img src={post.picture} alt="" className={classes.picture} />}
+        {post.picture && <img src={post.pictureRenditions?.feed ?? post.picture} alt="" className={classes.picture} />}
         <div className={classes.stats}>
-          {likes.length > 0 ? (
+          {likeCount > 0 ? (
             <div className={classes.stat}>
-              <span>{postLiked ? "You " : likes[0].firstName + " " + likes[0].lastName + " "}</span>
-              {likes.length - 1 > 0 ? (
+              <span>
+                {postLiked
+                  ? "You "
+                  : likes.length > 0
+                    ? likes[0].firstName + " " + likes[0].lastName + " "
+                    : "Someone "}
+              </span>
+              {likeCount - 1 > 0 ? (
                 <span>
-                  and {likes.length - 1} {likes.length - 1 === 1 ? "other" : "others"}
+                  and {likeCount - 1} {likeCount - 1 === 1 ? "other" : "others"}
                 </span>
               ) : null}{" "}
               liked this
@@ -273,9 +315,9 @@ export function Post({ post, setPosts }: PostProps) {
             <div></div>
           )}
 
-          {comments.length > 0 ? (
+          {commentCount > 0 ? (
             <button className={classes.stat} onClick={() => setShowComments((prev) => !prev)}>
-              <span>{comments.length} comments</span>
+              <span>{commentCount} comments</span>
             </button>
           ) : (
             <div></div>
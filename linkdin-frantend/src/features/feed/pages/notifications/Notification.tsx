@@ -15,12 +15,14 @@ enum NotificationType {
 }
 export interface Notification {
   id: number;
-  recipient: User;
   actor: User;
+  actorCount: number;
+  sampleActorIds: number[];
   read: boolean;
   type: NotificationType;
   resourceId: number;
   creationDate: string;
+  lastActivityDate: string;
 }
 
 export function Notifications() {
@@ -38,12 +40,34 @@ export function Notifications() {
     fetchNotifications();
   }, []);
 
+  // One UPDATE on the server, however many notifications are unread
+  const markAllNotificationsAsRead = () => {
+    request<{ updated: number }>({
+      endpoint: "/api/v1/notifications/read",
+      method: "PUT",
+      onSuccess: () =>
+        setNotifications((prev) => prev.map((notification) => ({ ...notification, read: true }))),
+      onFailure: (error) => console.log(error),
+    });
+  };
+
   return (
     <div className={classes.root}>
       <div className={classes.left}>
         <LeftSideBar />
       </div>
       <div className={classes.center}>
+        {notifications.some((notification) => !notification.read) && (
+          <button
+            onClick={markAllNotificationsAsRead}
+            style={{
+              padding: "1rem",
+              marginLeft: "auto",
+            }}
+          >
+            Mark all as read
+          </button>
+        )}
         {notifications.map((notification) => (
           <Notification
             key={notification.id}
@@ -85,7 +109,7 @@ function Notification({
       onSuccess: () => {
         setNotifications((prev) =>
           prev.map((notification) =>
-            notification.id === notificationId ? { ...notification, isRead: true } : notification
+            notification.id === notificationId ? { ...notification, read: true } : notification
           )
         );
       },
@@ -109,10 +133,12 @@ function Notification({
           marginRight: "auto",
         }}
       >
-        <strong>{notification.actor.firstName + " " + notification.actor.lastName}</strong>{" "}
+        <strong>{notification.actor.firstName + " " + notification.actor.lastName}</strong>
+        {notification.actorCount > 1 &&
+          ` and ${notification.actorCount - 1} ${notification.actorCount === 2 ? "other" : "others"}`}{" "}
         {notification.type === NotificationType.LIKE ? "liked" : "commented on"} your post.
       </p>
-      <TimeAgo date={notification.creationDate} />
+      <TimeAgo date={notification.lastActivityDate} />
     </button>
   );
 }
@@ -33,11 +33,15 @@ dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-mail")
 	implementation("org.springframework.boot:spring-boot-starter-validation")
 	implementation("org.springframework.boot:spring-boot-starter-websocket:3.5.0")
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
+
+// ⚡ In-process caches
+	implementation("com.github.ben-manes.caffeine:caffeine")
+
+// 🔍 Hibernate Search 7 with Lucene Backend (7.2 matches the Hibernate ORM 6.6 shipped with Boot 3.5)
+	implementation("org.hibernate.search:hibernate-search-mapper-orm:7.2.4.Final")
+	implementation("org.hibernate.search:hibernate-search-backend-lucene:7.2.4.Final")
 
-//// 🔍 Hibernate Search 6 with Lucene Backend
-//	implementation("org.hibernate.search:hibernate-search-mapper-orm:6.2.6.Final")
-//	implementation("org.hibernate.search:hibernate-search-backend-lucene:6.2.6.Final")
-//
 //	developmentOnly("org.springframework.boot:spring-boot-devtools") // ✅ Devtools
 
 // 🔐 JWT
@@ -45,7 +49,8 @@ dependencies {
 	runtimeOnly("io.jsonwebtoken:jjwt-impl:0.11.5")
 	runtimeOnly("io.jsonwebtoken:jjwt-jackson:0.11.5")
 
-	runtimeOnly("org.postgresql:postgresql")
+	// 🐘 Compile scope: the bulk post import uses the driver's COPY API
+	implementation("org.postgresql:postgresql")
 
 // 💡 Lombok
 	compileOnly("org.projectlombok:lombok")
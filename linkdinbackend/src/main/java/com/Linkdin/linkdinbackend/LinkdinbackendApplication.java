@@ -2,8 +2,10 @@ package com.Linkdin.linkdinbackend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class LinkdinbackendApplication {
 
 	public static void main(String[] args) {
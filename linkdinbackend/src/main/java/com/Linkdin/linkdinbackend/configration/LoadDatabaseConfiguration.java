@@ -6,9 +6,11 @@ import com.Linkdin.linkdinbackend.features.authentication.utils.Encoder;
 import com.Linkdin.linkdinbackend.features.feed.model.Post;
 import com.Linkdin.linkdinbackend.features.feed.repository.PostRepository;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
@@ -42,7 +44,9 @@ public class LoadDatabaseConfiguration {
      * @param postRepository - Database access for posts (auto-injected)
      * @return CommandLineRunner that contains our initialization logic
      */
+    // 🚦 Only one instance may seed a shared database: start any further ones with --database.seed=false
     @Bean
+    @ConditionalOnProperty(name = "database.seed", havingValue = "true", matchIfMissing = true)
     public CommandLineRunner initDatabase(AuthenticationUserRepository authenticationUserRepository,
                                           PostRepository postRepository) {
         return args -> {
@@ -123,6 +127,7 @@ public class LoadDatabaseConfiguration {
      */
     private void createPosts(PostRepository postRepository, List<AuthenticationUser> users) {
         Random random = new Random(); // 🎲 Random number generator
+        List<Post> posts = new ArrayList<>();
 
         // 🔄 Create 10 posts with varying characteristics
         for (int j = 1; j <= 10; j++) {
@@ -134,15 +139,18 @@ public class LoadDatabaseConfiguration {
 
             // ❤️ Add social proof (likes from random users)
             post.setLikes(generateLikes(users, j, random));
+            post.setLikeCount(post.getLikes().size());
 
             // 🖼️ Special treatment for first post (gets an image)
             if (j == 1) {
                 post.setPicture("https://images.unsplash.com/photo-1731176497854-f9ea4dd52eb6");
             }
 
-            // 💾 Save post to database
-            postRepository.save(post);
+            posts.add(post);
         }
+
+        // 💾 Save all posts at once so Hibernate can batch the inserts
+        postRepository.saveAll(posts);
     }
 
     /**
@@ -0,0 +1,29 @@
+package com.Linkdin.linkdinbackend.features.authentication.dto;
+
+import com.Linkdin.linkdinbackend.features.authentication.model.AuthenticationUser;
+import com.Linkdin.linkdinbackend.features.storage.dto.PictureRenditions;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * The public face of a user as shown next to posts, comments, likes and notifications.
+ * Never carries credentials, tokens or account flags.
+ */
+public record AuthorSummary(
+        Long id,
+        String firstName,
+        String lastName,
+        String position,
+        String company,
+        String location,
+        String profilePicture
+) {
+    public static AuthorSummary from(AuthenticationUser user) {
+        return new AuthorSummary(user.getId(), user.getFirstName(), user.getLastName(), user.getPosition(),
+                user.getCompany(), user.getLocation(), user.getProfilePicture());
+    }
+
+    @JsonProperty
+    public PictureRenditions profilePictureRenditions() {
+        return PictureRenditions.of(profilePicture);
+    }
+}
@@ -35,7 +35,8 @@ public class AuthenticationFilter extends HttpFilter {
             throws IOException, ServletException {
         response.addHeader("Access-Control-Allow-Origin", "*");
         response.addHeader("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS");
-        response.addHeader("Access-Control-Allow-Headers", "Content-Type, Authorization");
+        response.addHeader("Access-Control-Allow-Headers", "Content-Type, Authorization, If-None-Match, Range");
+        response.addHeader("Access-Control-Expose-Headers", "X-Next-Cursor, ETag, Content-Range, Accept-Ranges");
 
         if ("OPTIONS".equalsIgnoreCase(request.getMethod())) {
             response.setStatus(HttpServletResponse.SC_OK);
@@ -44,7 +45,7 @@ public class AuthenticationFilter extends HttpFilter {
 
         String path = request.getRequestURI();
 
-        if (unsecuredEndpoints.contains(path) || path.startsWith("/api/v1/authentication/oauth") || path.startsWith("/api/v1/storage")) {
+        if (unsecuredEndpoints.contains(path) || path.startsWith("/api/v1/authentication/oauth") || isPublicStorageRead(request, path)) {
             chain.doFilter(request, response);
             return;
         }
@@ -62,7 +63,7 @@ public class AuthenticationFilter extends HttpFilter {
             }
 
             String email = jsonWebTokenService.getEmailFromToken(token);
-            AuthenticationUser user = authenticationService.getUser(email);
+            AuthenticationUser user = authenticationService.getAuthenticatedUser(email);
             request.setAttribute("authenticatedUser", user);
             chain.doFilter(request, response);
         } catch (Exception e) {
@@ -71,4 +72,10 @@ public class AuthenticationFilter extends HttpFilter {
             response.getWriter().write("{\"message\": \"Invalid authentication token, or token missing.\"}");
         }
     }
-}
\ No newline at end of file
+
+    // Stored media is readable by anyone with the link (img tags cannot send a bearer token); uploads still need a user
+    private boolean isPublicStorageRead(HttpServletRequest request, String path) {
+        String method = request.getMethod();
+        return path.startsWith("/api/v1/storage/") && ("GET".equalsIgnoreCase(method) || "HEAD".equalsIgnoreCase(method));
+    }
+}
@@ -1,11 +1,13 @@
 package com.Linkdin.linkdinbackend.features.authentication.model;
 import com.Linkdin.linkdinbackend.features.feed.model.Post;
 import com.Linkdin.linkdinbackend.features.notifications.model.Notification;
+import com.Linkdin.linkdinbackend.features.storage.dto.PictureRenditions;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -43,13 +45,20 @@ public class AuthenticationUser {
     private String passwordResetToken = null;
     private LocalDateTime passwordResetTokenExpiryDate = null;
 
+    @FullTextField(analyzer = "name")
     private String firstName = null;
+    @FullTextField(analyzer = "name")
     private String lastName = null;
     private String company = null;
     private String position = null;
     private String location = null;
     private String profilePicture = null;
     private Boolean profileComplete = false;
+    // Goes up by one on every profile change, so the ETags of posts and comments showing this user change too.
+    // Only ever written by SQL (see AuthenticationUserRepository), never by saving the entity.
+    @JsonIgnore
+    @Column(nullable = false, updatable = false)
+    private long profileRevision = 0;
 
     @JsonIgnore
     @OneToMany(mappedBy = "author", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -187,4 +196,12 @@ public class AuthenticationUser {
     public void setProfilePicture(String profilePicture) {
         this.profilePicture = profilePicture;
     }
+
+    public long getProfileRevision() {
+        return profileRevision;
+    }
+
+    public PictureRenditions getProfilePictureRenditions() {
+        return PictureRenditions.of(profilePicture);
+    }
 }
\ No newline at end of file
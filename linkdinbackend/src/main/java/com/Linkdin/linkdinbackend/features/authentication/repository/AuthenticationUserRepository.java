@@ -3,8 +3,13 @@ package com.Linkdin.linkdinbackend.features.authentication.repository;
 import java.util.List;
 import java.util.Optional;
 
+import com.Linkdin.linkdinbackend.features.authentication.dto.AuthorSummary;
 import com.Linkdin.linkdinbackend.features.authentication.model.AuthenticationUser;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 
@@ -14,4 +19,18 @@ public interface AuthenticationUserRepository extends JpaRepository<Authenticati
     Optional<AuthenticationUser> findByEmail(String email);
 
     List<AuthenticationUser> findAllByIdNot(Long id);
+
+    // Keyset pages of public profiles in id order, read as projections for rebuilding in-memory indexes
+    @Query("""
+            SELECT new com.Linkdin.linkdinbackend.features.authentication.dto.AuthorSummary(
+                u.id, u.firstName, u.lastName, u.position, u.company, u.location, u.profilePicture)
+            FROM users u
+            WHERE u.id > :afterId
+            ORDER BY u.id""")
+    List<AuthorSummary> findSummariesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Native on purpose: the column is not updatable through the entity
+    @Modifying
+    @Query(value = "UPDATE users SET profile_revision = profile_revision + 1 WHERE id = :userId", nativeQuery = true)
+    int bumpProfileRevision(@Param("userId") Long userId);
 }
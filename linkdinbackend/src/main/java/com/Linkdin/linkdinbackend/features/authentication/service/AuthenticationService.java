@@ -12,6 +12,9 @@ import com.Linkdin.linkdinbackend.features.authentication.repository.Authenticat
 import com.Linkdin.linkdinbackend.features.authentication.utils.EmailService;
 import com.Linkdin.linkdinbackend.features.authentication.utils.Encoder;
 import com.Linkdin.linkdinbackend.features.authentication.utils.JsonWebToken;
+import com.Linkdin.linkdinbackend.features.feed.service.FeedTimeline;
+import com.Linkdin.linkdinbackend.features.feed.service.PostCache;
+import com.Linkdin.linkdinbackend.features.search.service.PeopleIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -33,6 +36,10 @@ public class AuthenticationService {
     private final Encoder encoder;
     private final JsonWebToken jsonWebToken;
     private final EmailService emailService;
+    private final FeedTimeline feedTimeline;
+    private final PostCache postCache;
+    private final PeopleIndex peopleIndex;
+    private final PrincipalCache principalCache;
 
 //    private final StorageService storageService;
 
@@ -44,11 +51,16 @@ public class AuthenticationService {
 //    private String googleClientSecret;
 
     public AuthenticationService(AuthenticationUserRepository userRepository, Encoder encoder, JsonWebToken jsonWebToken,
-                                 EmailService emailService) {
+                                 EmailService emailService, FeedTimeline feedTimeline, PostCache postCache, PeopleIndex peopleIndex,
+                                 PrincipalCache principalCache) {
         this.userRepository = userRepository;
         this.encoder = encoder;
         this.jsonWebToken = jsonWebToken;
         this.emailService = emailService;
+        this.feedTimeline = feedTimeline;
+        this.postCache = postCache;
+        this.peopleIndex = peopleIndex;
+        this.principalCache = principalCache;
 
     }
 
@@ -69,6 +81,7 @@ public class AuthenticationService {
             user.get().setEmailVerificationToken(hashedToken);
             user.get().setEmailVerificationTokenExpiryDate(LocalDateTime.now().plusMinutes(durationInMinutes));
             userRepository.save(user.get());
+            principalCache.evict(email);
             String subject = "Email Verification";
             String body = String.format("Only one step to take full advantage of LinkedIn.\n\n"
                     + "Enter this code to verify your email: " + "%s\n\n" + "The code will expire in " + "%s"
@@ -92,6 +105,7 @@ public class AuthenticationService {
             user.get().setEmailVerificationToken(null);
             user.get().setEmailVerificationTokenExpiryDate(null);
             userRepository.save(user.get());
+            principalCache.evict(email);
         } else if (user.isPresent() && encoder.matches(token, user.get().getEmailVerificationToken())
                 && user.get().getEmailVerificationTokenExpiryDate().isBefore(LocalDateTime.now())) {
             throw new IllegalArgumentException("Email verification token expired.");
@@ -165,6 +179,7 @@ public class AuthenticationService {
         user.setEmailVerificationTokenExpiryDate(LocalDateTime.now().plusMinutes(durationInMinutes));
 
         userRepository.save(user);
+        peopleIndex.index(user);
 
         String subject = "Email Verification";
         String body = String.format("""
@@ -186,14 +201,49 @@ public class AuthenticationService {
                 .orElseThrow(() -> new IllegalArgumentException("User not found."));
     }
 
+    // Resolves the caller of an authenticated request; see PrincipalCache for how it stays current
+    public AuthenticationUser getAuthenticatedUser(String email) {
+        return principalCache.get(email, this::getUser);
+    }
+
     @Transactional
     public void deleteUser(Long userId) {
         AuthenticationUser user = entityManager.find(AuthenticationUser.class, userId);
         if (user != null) {
-            entityManager.createNativeQuery("DELETE FROM posts_likes WHERE user_id = :userId")
+            // Their likes and comments go, and every post that showed them gets its counters corrected and a
+            // new revision (so cached ETags stop matching), all in one statement
+            entityManager.createNativeQuery("""
+                            WITH unliked AS (
+                                DELETE FROM posts_likes WHERE user_id = :userId RETURNING post_id
+                            ), uncommented AS (
+                                DELETE FROM comments WHERE author_id = :userId RETURNING post_id
+                            ), changes AS (
+                                SELECT post_id, count(*) FILTER (WHERE likes) AS likes, count(*) FILTER (WHERE NOT likes) AS comments
+                                FROM (SELECT post_id, true AS likes FROM unliked
+                                      UNION ALL
+                                      SELECT post_id, false FROM uncommented) removed
+                                GROUP BY post_id
+                            )
+                            UPDATE posts p
+                            SET like_count = p.like_count - c.likes,
+                                comment_count = p.comment_count - c.comments,
+                                revision = p.revision + 1
+                            FROM changes c
+                            WHERE p.id = c.post_id""")
+                    .setParameter("userId", userId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("DELETE FROM notification_outbox WHERE actor_id = :userId OR recipient_id = :userId")
+                    .setParameter("userId", userId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("DELETE FROM notification_unread_counts WHERE user_id = :userId")
                     .setParameter("userId", userId)
                     .executeUpdate();
             entityManager.remove(user);
+            feedTimeline.removeAuthor(userId);
+            // Their likes and comments were spread over any number of posts
+            postCache.evictAll();
+            peopleIndex.remove(userId);
+            principalCache.evict(user.getEmail());
         }
     }
 
@@ -205,6 +255,7 @@ public class AuthenticationService {
             user.get().setPasswordResetToken(hashedToken);
             user.get().setPasswordResetTokenExpiryDate(LocalDateTime.now().plusMinutes(durationInMinutes));
             userRepository.save(user.get());
+            principalCache.evict(email);
             String subject = "Password Reset";
             String body = String.format("""
                     You requested a password reset.
@@ -229,6 +280,7 @@ public class AuthenticationService {
             user.get().setPasswordResetTokenExpiryDate(null);
             user.get().setPassword(encoder.encode(newPassword));
             userRepository.save(user.get());
+            principalCache.evict(email);
         } else if (user.isPresent() && encoder.matches(token, user.get().getPasswordResetToken())
                 && user.get().getPasswordResetTokenExpiryDate().isBefore(LocalDateTime.now())) {
             throw new IllegalArgumentException("Password reset token expired.");
@@ -238,6 +290,9 @@ public class AuthenticationService {
     }
 
 
+    // The profile revision goes up with SQL after the save, so post ETags showing this user change, and so does the
+    // revision of every post they commented on, which keys the ETags of its comment pages
+    @Transactional
     public AuthenticationUser updateUserProfile(Long id, String firstName, String lastName, String company, String position, String location) {
         AuthenticationUser user = userRepository.findById(id).orElseThrow(() -> new RuntimeException("User not found"));
         if (firstName != null) user.setFirstName(firstName);
@@ -245,6 +300,14 @@ public class AuthenticationService {
         if (company != null) user.setCompany(company);
         if (position != null) user.setPosition(position);
         if (location != null) user.setLocation(location);
-        return userRepository.save(user);
+        AuthenticationUser savedUser = userRepository.save(user);
+        userRepository.bumpProfileRevision(id);
+        entityManager.createNativeQuery("UPDATE posts SET revision = revision + 1 WHERE id IN (SELECT post_id FROM comments WHERE author_id = :userId)")
+                .setParameter("userId", id)
+                .executeUpdate();
+        postCache.evictAuthor(id);
+        principalCache.evict(savedUser.getEmail());
+        peopleIndex.index(savedUser);
+        return savedUser;
     }
 }
\ No newline at end of file
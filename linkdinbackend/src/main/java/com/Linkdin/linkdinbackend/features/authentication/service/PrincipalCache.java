@@ -0,0 +1,57 @@
+package com.Linkdin.linkdinbackend.features.authentication.service;
+
+import com.Linkdin.linkdinbackend.features.authentication.model.AuthenticationUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of authenticated users by email (the subject of their tokens), so resolving the caller of
+ * an API request does not cost a query each time.
+ * <p>
+ * Entries expire {@code authentication.principal-cache.ttl-seconds} after being written, and
+ * {@link AuthenticationService} evicts a user whenever it changes or deletes one, immediately and again once
+ * the surrounding transaction commits. Other nodes only see such a change when their entry expires, so the
+ * TTL is kept short. Cached users are detached, exactly like the ones the filter loaded before.
+ * Hit/miss/eviction counters are published as {@code cache.*{cache=authentication.principals}}.
+ */
+@Component
+public class PrincipalCache {
+    private final Cache<String, AuthenticationUser> principals;
+
+    public PrincipalCache(MeterRegistry meterRegistry,
+                          @Value("${authentication.principal-cache.max-users:10000}") long maxUsers,
+                          @Value("${authentication.principal-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "authentication.principals");
+    }
+
+    // Unknown users are not cached; the loader's exception reaches the caller
+    public AuthenticationUser get(String email, Function<String, AuthenticationUser> loader) {
+        return principals.get(email, loader);
+    }
+
+    public void evict(String email) {
+        principals.invalidate(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principals.invalidate(email);
+                }
+            });
+        }
+    }
+}
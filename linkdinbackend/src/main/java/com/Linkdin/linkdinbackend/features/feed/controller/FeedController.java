@@ -1,55 +1,107 @@
 package com.Linkdin.linkdinbackend.features.feed.controller;
 
 
+import com.Linkdin.linkdinbackend.features.authentication.dto.AuthorSummary;
 import com.Linkdin.linkdinbackend.features.authentication.model.AuthenticationUser;
 import com.Linkdin.linkdinbackend.features.feed.dto.CommentDto;
+import com.Linkdin.linkdinbackend.features.feed.dto.CommentView;
+import com.Linkdin.linkdinbackend.features.feed.dto.CursorPage;
 import com.Linkdin.linkdinbackend.features.feed.dto.PostDto;
-import com.Linkdin.linkdinbackend.features.feed.model.Comment;
-import com.Linkdin.linkdinbackend.features.feed.model.Post;
+import com.Linkdin.linkdinbackend.features.feed.dto.PostLikeResult;
+import com.Linkdin.linkdinbackend.features.feed.dto.PostView;
+import com.Linkdin.linkdinbackend.features.feed.service.FeedExportService;
 import com.Linkdin.linkdinbackend.features.feed.service.FeedService;
+import com.Linkdin.linkdinbackend.features.feed.service.PostImportService;
+import com.Linkdin.linkdinbackend.features.feed.service.PostJsonCache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/feed")
 public class
 FeedController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final FeedService feedService;
+    private final PostImportService postImportService;
+    private final FeedExportService feedExportService;
+    private final PostJsonCache postJsonCache;
 
-    public FeedController(FeedService feedService) {
+    public FeedController(FeedService feedService, PostImportService postImportService, FeedExportService feedExportService,
+                          PostJsonCache postJsonCache) {
         this.feedService = feedService;
+        this.postImportService = postImportService;
+        this.feedExportService = feedExportService;
+        this.postJsonCache = postJsonCache;
     }
 
     @GetMapping
-    public ResponseEntity<List<Post>> getFeedPosts(@RequestAttribute("authenticatedUser") AuthenticationUser user) {
-        List<Post> posts = feedService.getFeedPosts(user.getId());
-        return ResponseEntity.ok(posts);
+    public ResponseEntity<StreamingResponseBody> getFeedPosts(@RequestAttribute("authenticatedUser") AuthenticationUser user,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(defaultValue = "20") int limit,
+                                                   @RequestParam(defaultValue = "latest") String mode,
+                                                   WebRequest request) {
+        if (!mode.equals("latest") && !mode.equals("ranked")) {
+            throw new IllegalArgumentException("Unknown feed mode: " + mode);
+        }
+        CursorPage<PostView> page = mode.equals("ranked")
+                ? feedService.getRankedFeedPosts(user.getId(), cursor, limit)
+                : feedService.getFeedPosts(user.getId(), cursor, limit);
+        if (request.checkNotModified(feedService.getFeedEtag(page))) {
+            return null;
+        }
+        return withCachedJson(page);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportActivity(@RequestAttribute("authenticatedUser") AuthenticationUser user) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"activity-" + user.getId() + ".ndjson\"")
+                .body(feedExportService.exportUserActivity(user.getId()));
     }
 
     @GetMapping("/posts")
-    public ResponseEntity<List<Post>> getAllPosts() {
-        List<Post> posts = feedService.getAllPosts();
-        return ResponseEntity.ok(posts);
+    public ResponseEntity<StreamingResponseBody> getAllPosts(@RequestParam(required = false) String cursor,
+                                                  @RequestParam(defaultValue = "20") int limit) {
+        CursorPage<PostView> page = feedService.getAllPosts(cursor, limit);
+        return withCachedJson(page);
     }
 
     @PostMapping("/posts")
-    public ResponseEntity<Post> createPost(@RequestBody PostDto postDto, @RequestAttribute("authenticatedUser") AuthenticationUser user) {
-        Post post = feedService.createPost(postDto, user.getId());
+    public ResponseEntity<PostView> createPost(@RequestBody PostDto postDto, @RequestAttribute("authenticatedUser") AuthenticationUser user) {
+        PostView post = feedService.createPost(postDto, user.getId());
         return ResponseEntity.ok(post);
     }
 
+    // mode=insert (batched JDBC inserts) or mode=copy (Postgres COPY, for very large imports)
+    @PostMapping("/posts:batch")
+    public ResponseEntity<Map<String, Integer>> createPosts(@RequestBody List<PostDto> postDtos,
+                                                            @RequestParam(defaultValue = "insert") String mode,
+                                                            @RequestAttribute("authenticatedUser") AuthenticationUser user) {
+        int created = postImportService.importPosts(user.getId(), postDtos, mode);
+        return ResponseEntity.ok(Map.of("created", created));
+    }
+
     @GetMapping("/posts/{postId}")
-    public ResponseEntity<Post> getPost(@PathVariable Long postId) {
-        Post post = feedService.getPost(postId);
+    public ResponseEntity<PostView> getPost(@PathVariable Long postId, WebRequest request) {
+        PostView post = feedService.getPost(postId);
+        if (request.checkNotModified(post.etag())) {
+            return null;
+        }
         return ResponseEntity.ok(post);
     }
 
     @PutMapping("/posts/{postId}")
-    public ResponseEntity<Post> editPost(@PathVariable Long postId, @RequestBody PostDto postDto, @RequestAttribute("authenticatedUser") AuthenticationUser user) {
-        Post post = feedService.editPost(postId, user.getId(), postDto);
+    public ResponseEntity<PostView> editPost(@PathVariable Long postId, @RequestBody PostDto postDto, @RequestAttribute("authenticatedUser") AuthenticationUser user) {
+        PostView post = feedService.editPost(postId, user.getId(), postDto);
         return ResponseEntity.ok(post);
     }
 
@@ -60,16 +112,28 @@ FeedController {
     }
 
     @PostMapping("/posts/{postId}/comments")
-    public ResponseEntity<Comment> addComment(@PathVariable Long postId, @RequestBody CommentDto commentDto, @RequestAttribute("authenticatedUser") AuthenticationUser user) {
-        Comment comment = feedService.addComment(postId, user.getId(), commentDto.getContent());
+    public ResponseEntity<CommentView> addComment(@PathVariable Long postId, @RequestBody CommentDto commentDto, @RequestAttribute("authenticatedUser") AuthenticationUser user) {
+        CommentView comment = feedService.addComment(postId, user.getId(), commentDto.getContent());
         return ResponseEntity.ok(comment);
     }
 
 
     @GetMapping("/posts/{postId}/comments")
-    public ResponseEntity<List<Comment>> getComments(@PathVariable Long postId) {
-        List<Comment> comments = feedService.getPostComments(postId);
-        return ResponseEntity.ok(comments);
+    public ResponseEntity<List<CommentView>> getComments(@PathVariable Long postId,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "20") int limit,
+                                                     WebRequest request) {
+        if (request.checkNotModified(feedService.getPostCommentsEtag(postId, cursor, limit))) {
+            return null;
+        }
+        CursorPage<CommentView> page = feedService.getPostComments(postId, cursor, limit);
+        return withCursor(page);
+    }
+
+    @GetMapping("/posts/{postId}/comments/count")
+    public ResponseEntity<Map<String, Long>> getCommentCount(@PathVariable Long postId) {
+        long count = feedService.getPostCommentCount(postId);
+        return ResponseEntity.ok(Map.of("count", count));
     }
 
     @DeleteMapping("/comments/{commentId}")
@@ -79,26 +143,55 @@ FeedController {
     }
 
     @PutMapping("/comments/{commentId}")
-    public ResponseEntity<Comment> editComment(@PathVariable Long commentId, @RequestBody CommentDto commentDto, @RequestAttribute("authenticatedUser") AuthenticationUser user) {
-        Comment comment = feedService.editComment(commentId, user.getId(), commentDto.getContent());
+    public ResponseEntity<CommentView> editComment(@PathVariable Long commentId, @RequestBody CommentDto commentDto, @RequestAttribute("authenticatedUser") AuthenticationUser user) {
+        CommentView comment = feedService.editComment(commentId, user.getId(), commentDto.getContent());
         return ResponseEntity.ok(comment);
     }
 
 
     @PutMapping("/posts/{postId}/like")
-    public ResponseEntity<Post> likePost(@PathVariable Long postId, @RequestAttribute("authenticatedUser") AuthenticationUser user) {
-        Post post = feedService.likePost(postId, user.getId());
-        return ResponseEntity.ok(post);
+    public ResponseEntity<PostLikeResult> likePost(@PathVariable Long postId, @RequestAttribute("authenticatedUser") AuthenticationUser user) {
+        PostLikeResult result = feedService.likePost(postId, user.getId());
+        return ResponseEntity.ok(result);
     }
     @GetMapping("/posts/{postId}/likes")
-    public ResponseEntity<Set<AuthenticationUser>> getPostLikes(@PathVariable Long postId) {
-        Set<AuthenticationUser> likes = feedService.getPostLikes(postId);
-        return ResponseEntity.ok(likes);
+    public ResponseEntity<List<AuthorSummary>> getPostLikes(@PathVariable Long postId,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @RequestParam(defaultValue = "20") int limit) {
+        CursorPage<AuthorSummary> page = feedService.getPostLikes(postId, cursor, limit);
+        return withCursor(page);
+    }
+
+    @GetMapping("/posts/{postId}/likes/me")
+    public ResponseEntity<Map<String, Boolean>> isPostLiked(@PathVariable Long postId, @RequestAttribute("authenticatedUser") AuthenticationUser user) {
+        boolean liked = feedService.isPostLikedBy(postId, user.getId());
+        return ResponseEntity.ok(Map.of("liked", liked));
     }
 
     @GetMapping("/posts/user/{userId}")
-    public ResponseEntity<List<Post>> getPostsByUserId(@PathVariable Long userId) {
-        List<Post> posts = feedService.getPostsByUserId(userId);
-        return ResponseEntity.ok(posts);
+    public ResponseEntity<StreamingResponseBody> getPostsByUserId(@PathVariable Long userId,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(defaultValue = "20") int limit) {
+        CursorPage<PostView> page = feedService.getPostsByUserId(userId, cursor, limit);
+        return withCachedJson(page);
+    }
+
+    // The body stays a plain list; the cursor for the next page travels in a header
+    private static <T> ResponseEntity<List<T>> withCursor(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    // Post lists are written from the pre-serialized JSON in PostJsonCache instead of going through Jackson
+    private ResponseEntity<StreamingResponseBody> withCachedJson(CursorPage<PostView> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        List<PostView> posts = page.items();
+        return response.body(out -> postJsonCache.writeArray(posts, out));
     }
 }
@@ -0,0 +1,36 @@
+package com.Linkdin.linkdinbackend.features.feed.dto;
+
+import com.Linkdin.linkdinbackend.features.authentication.dto.AuthorSummary;
+import com.Linkdin.linkdinbackend.features.feed.model.Comment;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model of a comment, sent over REST and on /topic/comments/{postId}.
+ */
+public record CommentView(
+        Long id,
+        String content,
+        AuthorSummary author,
+        LocalDateTime creationDate,
+        LocalDateTime updatedDate
+) {
+    // Flat form for JPQL constructor expressions
+    public CommentView(Long id, String content, LocalDateTime creationDate, LocalDateTime updatedDate,
+                       Long authorId, String authorFirstName, String authorLastName, String authorPosition,
+                       String authorCompany, String authorLocation, String authorProfilePicture) {
+        this(id, content,
+                new AuthorSummary(authorId, authorFirstName, authorLastName, authorPosition, authorCompany,
+                        authorLocation, authorProfilePicture),
+                creationDate, updatedDate);
+    }
+
+    public static CommentView from(Comment comment) {
+        return new CommentView(comment.getId(), comment.getContent(), AuthorSummary.from(comment.getAuthor()),
+                comment.getCreationDate(), comment.getUpdatedDate());
+    }
+
+    public FeedCursor cursor() {
+        return new FeedCursor(creationDate, id);
+    }
+}
@@ -0,0 +1,8 @@
+package com.Linkdin.linkdinbackend.features.feed.dto;
+
+/**
+ * Broadcast on /topic/likes/{postId} whenever a like is added (delta = 1) or removed (delta = -1).
+ * Fixed size no matter how many likes the post has; clients page through likers over REST.
+ */
+public record LikeEvent(Long postId, Long userId, int delta, long newCount) {
+}
@@ -0,0 +1,7 @@
+package com.Linkdin.linkdinbackend.features.feed.dto;
+
+/**
+ * The counters of a post as they stand right after a like/unlike, read back in one query.
+ */
+public record PostCounters(long likeCount, long commentCount, long revision) {
+}
@@ -0,0 +1,4 @@
+package com.Linkdin.linkdinbackend.features.feed.dto;
+
+public record PostLikeResult(Long postId, boolean liked, long likeCount) {
+}
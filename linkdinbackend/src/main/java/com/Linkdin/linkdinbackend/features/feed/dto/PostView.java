@@ -0,0 +1,62 @@
+package com.Linkdin.linkdinbackend.features.feed.dto;
+
+import com.Linkdin.linkdinbackend.features.authentication.dto.AuthorSummary;
+import com.Linkdin.linkdinbackend.features.feed.model.Post;
+import com.Linkdin.linkdinbackend.features.storage.dto.PictureRenditions;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model of a post. List queries build it straight from the result set, so no entity
+ * (and no persistence-context bookkeeping) exists for posts that are only being displayed.
+ */
+public record PostView(
+        Long id,
+        String content,
+        String picture,
+        AuthorSummary author,
+        long likeCount,
+        long commentCount,
+        long revision,
+        @JsonIgnore long authorRevision,
+        LocalDateTime creationDate,
+        LocalDateTime updatedDate
+) {
+    // JPQL constructor expressions cannot nest, so queries use this flat form
+    public PostView(Long id, String content, String picture, long likeCount, long commentCount, long revision,
+                    LocalDateTime creationDate, LocalDateTime updatedDate,
+                    Long authorId, String authorFirstName, String authorLastName, String authorPosition,
+                    String authorCompany, String authorLocation, String authorProfilePicture, long authorRevision) {
+        this(id, content, picture,
+                new AuthorSummary(authorId, authorFirstName, authorLastName, authorPosition, authorCompany,
+                        authorLocation, authorProfilePicture),
+                likeCount, commentCount, revision, authorRevision, creationDate, updatedDate);
+    }
+
+    public static PostView from(Post post) {
+        return new PostView(post.getId(), post.getContent(), post.getPicture(), AuthorSummary.from(post.getAuthor()),
+                post.getLikeCount(), post.getCommentCount(), post.getRevision(), post.getAuthor().getProfileRevision(),
+                post.getCreationDate(), post.getUpdatedDate());
+    }
+
+    public PostView withCounters(PostCounters counters) {
+        return new PostView(id, content, picture, author, counters.likeCount(), counters.commentCount(), counters.revision(),
+                authorRevision, creationDate, updatedDate);
+    }
+
+    @JsonProperty
+    public PictureRenditions pictureRenditions() {
+        return PictureRenditions.of(picture);
+    }
+
+    // Strong validator for this exact representation of the post, author profile included
+    public String etag() {
+        return "\"p" + id + "-" + revision + "-" + authorRevision + "\"";
+    }
+
+    public FeedCursor cursor() {
+        return new FeedCursor(creationDate, id);
+    }
+}
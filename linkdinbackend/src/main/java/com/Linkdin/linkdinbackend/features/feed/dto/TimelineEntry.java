@@ -0,0 +1,19 @@
+package com.Linkdin.linkdinbackend.features.feed.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * The few columns of a post the timeline needs to order and filter it, without loading the post itself.
+ */
+public record TimelineEntry(Long postId, Long authorId, LocalDateTime creationDate) {
+
+    public FeedCursor cursor() {
+        return new FeedCursor(creationDate, postId);
+    }
+
+    // Same ordering as the feed queries: creationDate DESC, then id DESC
+    public boolean isBefore(FeedCursor cursor) {
+        int byDate = creationDate.compareTo(cursor.creationDate());
+        return byDate < 0 || (byDate == 0 && postId < cursor.id());
+    }
+}
@@ -13,18 +13,24 @@ import java.time.LocalDateTime;
 // 💬 Every comment made by a user will be stored here.
 @Setter
 @Getter
+// 📇 Comments are always read per post, newest first, so the index follows that order
 @Entity(name = "comments")
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_post_creation_date_id", columnList = "post_id, creation_date DESC, id DESC")
+})
 public class Comment {
 
-    // 🆔 Primary key of the table! Auto-generated by the database 🚀
+    // 🆔 Primary key of the table! Drawn from a pooled sequence so inserts can be batched 🚀
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
     private Long id;
 
     // 🔗 Relationship: MANY comments belong to ONE post 📌
     // ❗ This field links each comment to its parent post
     // 🛑 We use @JsonIgnore to avoid infinite loops when converting to JSON (avoid recursion).
-    @ManyToOne
+    // 💤 Lazy: a page of comments belongs to a post the caller already knows about
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "post_id", nullable = false)
     @JsonIgnore
     private Post post;
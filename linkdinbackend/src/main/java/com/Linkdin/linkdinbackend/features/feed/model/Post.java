@@ -5,6 +5,10 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotEmpty;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.IndexedEmbedded;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -12,18 +16,31 @@ import java.util.Set;
 
 // 🧱 This means the class becomes a table in the database 📦
 // The table name will be: posts
+// 📇 The indexes match the (creation_date, id) keyset order used to page through the feed
+// 🔍 @Indexed: Hibernate Search also keeps a Lucene document per post (content + author names) for /api/v1/search/posts
+// ✂️ @DynamicUpdate: an edit only writes the columns it changed, never the counters it happened to load
 @Entity(name = "posts")
+@DynamicUpdate
+@Indexed(index = "posts")
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_creation_date_id", columnList = "creation_date DESC, id DESC"),
+        @Index(name = "idx_posts_author_creation_date_id", columnList = "author_id, creation_date DESC, id DESC")
+})
 public class Post {
+    public static final int ID_ALLOCATION_SIZE = 50;
 
     // 🆔 This is like the roll number of the post! 🎟️
     // It's unique for every post and gets created automatically (like 1, 2, 3…)
+    // 🔢 Ids come from a pooled sequence (50 at a time) so inserts can be JDBC-batched; IDENTITY can't batch
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "posts_seq")
+    @SequenceGenerator(name = "posts_seq", sequenceName = "posts_seq", allocationSize = Post.ID_ALLOCATION_SIZE)
     private Long id;
 
     // 💬 This is the actual message someone writes in a post
     // We can't allow it to be empty — a post with no message? Nope 🙅‍♂️
     @NotEmpty
+    @FullTextField(analyzer = "english")
     private String content;
 
     // 🖼️ Optional: A picture you might attach to your post
@@ -31,8 +48,10 @@ public class Post {
 
     // 👤 This says: “Who wrote this post?”
     // Every post must have one author (user)
+    // 🔍 Only the names are copied into the search document; renaming a user re-indexes their posts
     @ManyToOne
     @JoinColumn(name = "author_id", nullable = false)
+    @IndexedEmbedded(includePaths = {"firstName", "lastName"})
     private AuthenticationUser author;
 
     // ❤️ Likes! When many users ❤️ a post, it stores their names here.
@@ -46,6 +65,11 @@ public class Post {
     )
     private Set<AuthenticationUser> likes;
 
+    // 🔢 How many rows posts_likes holds for this post, kept in step by the like toggle
+    // so nobody has to load (or count) the likes collection just to show a number
+    @Column(nullable = false)
+    private long likeCount = 0;
+
     // 💬💬 These are the comments people leave on the post
     // Like: “Wow, congrats! 🎉” or “Great work!”
     // One post can have **many comments**
@@ -54,6 +78,17 @@ public class Post {
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Comment> comments;
 
+    // 🔢 Number of comments, maintained next to likeCount by add/delete comment
+    @Column(nullable = false)
+    private long commentCount = 0;
+
+    // 🏷️ Goes up by one on every change a reader could see: edits, likes, comments.
+    // Not @Version on purpose: likes and comments bump it with bulk UPDATEs and must never fail with
+    // an optimistic-lock error. It only feeds the ETags of the post and of the feed pages showing it.
+    // Like the counters, it is only ever changed by SQL (see PostRepository), never through this field.
+    @Column(nullable = false)
+    private long revision = 0;
+
     // ⏰ This will automatically store the time when the post was created
     // You don’t need to set it — Hibernate (Spring’s helper) does it for you 🧙‍♂️
     @CreationTimestamp
@@ -118,6 +153,15 @@ public class Post {
         this.likes = likes;
     }
 
+    // 🔢 How many likes?
+    public long getLikeCount() {
+        return likeCount;
+    }
+
+    public void setLikeCount(long likeCount) {
+        this.likeCount = likeCount;
+    }
+
     // 🖼️ Picture stuff
     public String getPicture() {
         return picture;
@@ -136,6 +180,20 @@ public class Post {
         this.comments = comments;
     }
 
+    // 🔢 How many comments?
+    public long getCommentCount() {
+        return commentCount;
+    }
+
+    public void setCommentCount(long commentCount) {
+        this.commentCount = commentCount;
+    }
+
+    // 🏷️ Which version of the post is this?
+    public long getRevision() {
+        return revision;
+    }
+
     // 🕓 When was it made?
     public LocalDateTime getCreationDate() {
         return creationDate;
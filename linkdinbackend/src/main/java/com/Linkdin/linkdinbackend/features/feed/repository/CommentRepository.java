@@ -1,7 +1,38 @@
 package com.Linkdin.linkdinbackend.features.feed.repository;
 
+import com.Linkdin.linkdinbackend.features.feed.dto.CommentView;
 import com.Linkdin.linkdinbackend.features.feed.model.Comment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment ,Long> {
+
+    // Newest first, built as CommentView straight from one join with the authors
+    @Query("""
+            SELECT new com.Linkdin.linkdinbackend.features.feed.dto.CommentView(
+                c.id, c.content, c.creationDate, c.updatedDate,
+                a.id, a.firstName, a.lastName, a.position, a.company, a.location, a.profilePicture)
+            FROM comments c JOIN c.author a
+            WHERE c.post.id = :postId
+            ORDER BY c.creationDate DESC, c.id DESC""")
+    List<CommentView> findPostPage(@Param("postId") Long postId, Limit limit);
+
+    @Query("""
+            SELECT new com.Linkdin.linkdinbackend.features.feed.dto.CommentView(
+                c.id, c.content, c.creationDate, c.updatedDate,
+                a.id, a.firstName, a.lastName, a.position, a.company, a.location, a.profilePicture)
+            FROM comments c JOIN c.author a
+            WHERE c.post.id = :postId
+              AND c.creationDate <= :creationDate
+              AND (c.creationDate < :creationDate OR c.id < :id)
+            ORDER BY c.creationDate DESC, c.id DESC""")
+    List<CommentView> findPostPageBefore(@Param("postId") Long postId,
+                                         @Param("creationDate") LocalDateTime creationDate,
+                                         @Param("id") Long id,
+                                         Limit limit);
 }
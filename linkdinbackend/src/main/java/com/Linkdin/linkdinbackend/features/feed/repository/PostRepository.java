@@ -1,14 +1,151 @@
 package com.Linkdin.linkdinbackend.features.feed.repository;
 
+import com.Linkdin.linkdinbackend.features.authentication.dto.AuthorSummary;
+import com.Linkdin.linkdinbackend.features.feed.dto.PostCounters;
+import com.Linkdin.linkdinbackend.features.feed.dto.PostView;
+import com.Linkdin.linkdinbackend.features.feed.dto.TimelineEntry;
 import com.Linkdin.linkdinbackend.features.feed.model.Post;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
+// Every list query is keyset-paginated on (creationDate DESC, id DESC) so the cost of a page
+// does not depend on how deep into the table it is. The "...Before" variants continue after a cursor.
+// Lists are read as PostView projections joined with their author: one query per page, no entities, no N+1.
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
-    List<Post> findByAuthorId(Long authorId);
-    List<Post> findAllByOrderByCreationDateDesc();
-    List<Post> findByAuthorIdNotOrderByCreationDateDesc(Long authenticatedUserId);
+
+    @Query("""
+            SELECT new com.Linkdin.linkdinbackend.features.feed.dto.PostView(
+                p.id, p.content, p.picture, p.likeCount, p.commentCount, p.revision, p.creationDate, p.updatedDate,
+                a.id, a.firstName, a.lastName, a.position, a.company, a.location, a.profilePicture, a.profileRevision)
+            FROM posts p JOIN p.author a
+            WHERE p.id = :postId""")
+    Optional<PostView> findViewById(@Param("postId") Long postId);
+
+    @Query("""
+            SELECT new com.Linkdin.linkdinbackend.features.feed.dto.PostView(
+                p.id, p.content, p.picture, p.likeCount, p.commentCount, p.revision, p.creationDate, p.updatedDate,
+                a.id, a.firstName, a.lastName, a.position, a.company, a.location, a.profilePicture, a.profileRevision)
+            FROM posts p JOIN p.author a
+            WHERE p.id IN :ids""")
+    List<PostView> findViewsByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("""
+            SELECT new com.Linkdin.linkdinbackend.features.feed.dto.PostView(
+                p.id, p.content, p.picture, p.likeCount, p.commentCount, p.revision, p.creationDate, p.updatedDate,
+                a.id, a.firstName, a.lastName, a.position, a.company, a.location, a.profilePicture, a.profileRevision)
+            FROM posts p JOIN p.author a
+            WHERE a.id = :authorId
+            ORDER BY p.creationDate DESC, p.id DESC""")
+    List<PostView> findAuthorPage(@Param("authorId") Long authorId, Limit limit);
+
+    @Query("""
+            SELECT new com.Linkdin.linkdinbackend.features.feed.dto.PostView(
+                p.id, p.content, p.picture, p.likeCount, p.commentCount, p.revision, p.creationDate, p.updatedDate,
+                a.id, a.firstName, a.lastName, a.position, a.company, a.location, a.profilePicture, a.profileRevision)
+            FROM posts p JOIN p.author a
+            WHERE a.id = :authorId
+              AND p.creationDate <= :creationDate
+              AND (p.creationDate < :creationDate OR p.id < :id)
+            ORDER BY p.creationDate DESC, p.id DESC""")
+    List<PostView> findAuthorPageBefore(@Param("authorId") Long authorId,
+                                        @Param("creationDate") LocalDateTime creationDate,
+                                        @Param("id") Long id,
+                                        Limit limit);
+
+    @Query("""
+            SELECT new com.Linkdin.linkdinbackend.features.feed.dto.PostView(
+                p.id, p.content, p.picture, p.likeCount, p.commentCount, p.revision, p.creationDate, p.updatedDate,
+                a.id, a.firstName, a.lastName, a.position, a.company, a.location, a.profilePicture, a.profileRevision)
+            FROM posts p JOIN p.author a
+            ORDER BY p.creationDate DESC, p.id DESC""")
+    List<PostView> findPage(Limit limit);
+
+    @Query("""
+            SELECT new com.Linkdin.linkdinbackend.features.feed.dto.PostView(
+                p.id, p.content, p.picture, p.likeCount, p.commentCount, p.revision, p.creationDate, p.updatedDate,
+                a.id, a.firstName, a.lastName, a.position, a.company, a.location, a.profilePicture, a.profileRevision)
+            FROM posts p JOIN p.author a
+            WHERE p.creationDate <= :creationDate
+              AND (p.creationDate < :creationDate OR p.id < :id)
+            ORDER BY p.creationDate DESC, p.id DESC""")
+    List<PostView> findPageBefore(@Param("creationDate") LocalDateTime creationDate,
+                                  @Param("id") Long id,
+                                  Limit limit);
+
+    @Query("""
+            SELECT new com.Linkdin.linkdinbackend.features.feed.dto.PostView(
+                p.id, p.content, p.picture, p.likeCount, p.commentCount, p.revision, p.creationDate, p.updatedDate,
+                a.id, a.firstName, a.lastName, a.position, a.company, a.location, a.profilePicture, a.profileRevision)
+            FROM posts p JOIN p.author a
+            WHERE a.id <> :userId
+            ORDER BY p.creationDate DESC, p.id DESC""")
+    List<PostView> findFeedPage(@Param("userId") Long userId, Limit limit);
+
+    @Query("""
+            SELECT new com.Linkdin.linkdinbackend.features.feed.dto.PostView(
+                p.id, p.content, p.picture, p.likeCount, p.commentCount, p.revision, p.creationDate, p.updatedDate,
+                a.id, a.firstName, a.lastName, a.position, a.company, a.location, a.profilePicture, a.profileRevision)
+            FROM posts p JOIN p.author a
+            WHERE a.id <> :userId
+              AND p.creationDate <= :creationDate
+              AND (p.creationDate < :creationDate OR p.id < :id)
+            ORDER BY p.creationDate DESC, p.id DESC""")
+    List<PostView> findFeedPageBefore(@Param("userId") Long userId,
+                                      @Param("creationDate") LocalDateTime creationDate,
+                                      @Param("id") Long id,
+                                      Limit limit);
+
+    @Query("""
+            SELECT new com.Linkdin.linkdinbackend.features.feed.dto.TimelineEntry(p.id, p.author.id, p.creationDate)
+            FROM posts p
+            ORDER BY p.creationDate DESC, p.id DESC""")
+    List<TimelineEntry> findTimelineEntries(Limit limit);
+
+    @Query("SELECT p.author.id FROM posts p WHERE p.id = :postId")
+    Optional<Long> findAuthorIdById(@Param("postId") Long postId);
+
+    @Query("""
+            SELECT new com.Linkdin.linkdinbackend.features.authentication.dto.AuthorSummary(
+                u.id, u.firstName, u.lastName, u.position, u.company, u.location, u.profilePicture)
+            FROM posts p JOIN p.likes u
+            WHERE p.id = :postId AND u.id > :afterUserId
+            ORDER BY u.id""")
+    List<AuthorSummary> findLikersAfter(@Param("postId") Long postId, @Param("afterUserId") Long afterUserId, Limit limit);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM posts_likes WHERE post_id = :postId AND user_id = :userId)", nativeQuery = true)
+    boolean existsLike(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    // ❤️ The like toggle works on posts_likes rows directly, never on the Post.likes collection
+    @Modifying
+    @Query(value = "DELETE FROM posts_likes WHERE post_id = :postId AND user_id = :userId", nativeQuery = true)
+    int deleteLike(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO posts_likes (post_id, user_id) VALUES (:postId, :userId) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertLike(@Param("postId") Long postId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE posts p SET p.likeCount = p.likeCount + :delta, p.revision = p.revision + 1 WHERE p.id = :postId")
+    int addToLikeCount(@Param("postId") Long postId, @Param("delta") long delta);
+
+    @Query("SELECT new com.Linkdin.linkdinbackend.features.feed.dto.PostCounters(p.likeCount, p.commentCount, p.revision) FROM posts p WHERE p.id = :postId")
+    PostCounters findCountersById(@Param("postId") Long postId);
+
+    // A post or comment edit changes what readers see without touching any counter
+    @Modifying
+    @Query("UPDATE posts p SET p.revision = p.revision + 1 WHERE p.id = :postId")
+    int bumpRevision(@Param("postId") Long postId);
+
+    @Modifying
+    @Query("UPDATE posts p SET p.commentCount = p.commentCount + :delta, p.revision = p.revision + 1 WHERE p.id = :postId")
+    int addToCommentCount(@Param("postId") Long postId, @Param("delta") long delta);
 }
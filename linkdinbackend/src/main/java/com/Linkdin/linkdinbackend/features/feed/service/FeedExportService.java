@@ -0,0 +1,130 @@
+package com.Linkdin.linkdinbackend.features.feed.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+// 📤 Streams everything a user has written or liked as NDJSON: one {"type": ...} object per line.
+// Rows come through forward-only JDBC cursors with a fixed fetch size (Postgres only honours the fetch
+// size inside a transaction, hence the read-only TransactionTemplate) and are written as they arrive,
+// so memory use is one fetch window plus the output buffer, whatever the size of the history.
+@Service
+public class FeedExportService {
+    private static final String POSTS_SQL = """
+            SELECT id, content, picture, like_count, comment_count, creation_date, updated_date
+            FROM posts WHERE author_id = ? ORDER BY creation_date, id""";
+    private static final String COMMENTS_SQL = """
+            SELECT id, post_id, content, creation_date, updated_date
+            FROM comments WHERE author_id = ? ORDER BY creation_date, id""";
+    private static final String LIKES_SQL = "SELECT post_id FROM posts_likes WHERE user_id = ? ORDER BY post_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public FeedExportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                             @Value("${feed.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    public StreamingResponseBody exportUserActivity(Long userId) {
+        return out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                transactionTemplate.executeWithoutResult(status -> {
+                    stream(POSTS_SQL, userId, generator, FeedExportService::writePost);
+                    stream(COMMENTS_SQL, userId, generator, FeedExportService::writeComment);
+                    stream(LIKES_SQL, userId, generator, FeedExportService::writeLike);
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    private void stream(String sql, Long userId, JsonGenerator generator, RowWriter writer) {
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, userId);
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            try {
+                writer.write(generator, rs);
+                // Hand each fetch window to the client before the next one is read
+                if (rs.getRow() % fetchSize == 0) {
+                    generator.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static void writePost(JsonGenerator generator, ResultSet rs) throws SQLException, IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", "post");
+        generator.writeNumberField("id", rs.getLong("id"));
+        generator.writeStringField("content", rs.getString("content"));
+        generator.writeStringField("picture", rs.getString("picture"));
+        generator.writeNumberField("likeCount", rs.getLong("like_count"));
+        generator.writeNumberField("commentCount", rs.getLong("comment_count"));
+        writeDate(generator, "creationDate", rs, "creation_date");
+        writeDate(generator, "updatedDate", rs, "updated_date");
+        endLine(generator);
+    }
+
+    private static void writeComment(JsonGenerator generator, ResultSet rs) throws SQLException, IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", "comment");
+        generator.writeNumberField("id", rs.getLong("id"));
+        generator.writeNumberField("postId", rs.getLong("post_id"));
+        generator.writeStringField("content", rs.getString("content"));
+        writeDate(generator, "creationDate", rs, "creation_date");
+        writeDate(generator, "updatedDate", rs, "updated_date");
+        endLine(generator);
+    }
+
+    private static void writeLike(JsonGenerator generator, ResultSet rs) throws SQLException, IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", "like");
+        generator.writeNumberField("postId", rs.getLong("post_id"));
+        endLine(generator);
+    }
+
+    private static void writeDate(JsonGenerator generator, String field, ResultSet rs, String column) throws SQLException, IOException {
+        LocalDateTime date = rs.getObject(column, LocalDateTime.class);
+        if (date == null) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeStringField(field, date.toString());
+        }
+    }
+
+    private static void endLine(JsonGenerator generator) throws IOException {
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(JsonGenerator generator, ResultSet rs) throws SQLException, IOException;
+    }
+}
@@ -0,0 +1,150 @@
+package com.Linkdin.linkdinbackend.features.feed.service;
+
+import com.Linkdin.linkdinbackend.features.feed.dto.PostView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 🏆 Scores feed candidates for ?mode=ranked.
+// score = recency * (1 + engagement + velocity) * (1 + affinity), where
+//   recency    halves every feed.ranking.recency-half-life-hours,
+//   engagement is log(1 + likes + 2 * comments) from the post's counters,
+//   velocity   is log(1 + recent likes + 2 * recent comments), an exponentially decaying event count,
+//   affinity   is log(1 + decaying count of the viewer's likes and comments on that author's posts).
+// Velocity and affinity are updated on every like/comment event, so ranking never re-reads history.
+@Component
+public class FeedRanker {
+    private static final int MAX_AUTHORS_PER_VIEWER = 256;
+
+    private final int window;
+    private final double recencyHalfLifeHours;
+    private final double velocityDecayPerMilli;
+    private final double affinityDecayPerMilli;
+
+    private final Map<Long, DecayingCounter> velocityByPost = new ConcurrentHashMap<>();
+    private final Map<Long, Map<Long, DecayingCounter>> affinityByViewer = new ConcurrentHashMap<>();
+
+    public FeedRanker(@Value("${feed.ranking.window:500}") int window,
+                      @Value("${feed.ranking.recency-half-life-hours:24}") double recencyHalfLifeHours,
+                      @Value("${feed.ranking.velocity-half-life-minutes:60}") double velocityHalfLifeMinutes,
+                      @Value("${feed.ranking.affinity-half-life-days:30}") double affinityHalfLifeDays) {
+        this.window = window;
+        this.recencyHalfLifeHours = recencyHalfLifeHours;
+        this.velocityDecayPerMilli = Math.log(2) / Duration.ofSeconds(Math.round(velocityHalfLifeMinutes * 60)).toMillis();
+        this.affinityDecayPerMilli = Math.log(2) / Duration.ofSeconds(Math.round(affinityHalfLifeDays * 86400)).toMillis();
+    }
+
+    // How many of the newest posts are considered as candidates
+    public int window() {
+        return window;
+    }
+
+    public void recordLike(Long postId, Long authorId, Long userId, int delta) {
+        if (delta <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        velocityByPost.computeIfAbsent(postId, id -> new DecayingCounter()).add(1, now, velocityDecayPerMilli);
+        recordAffinity(userId, authorId, 1, now);
+        pruneVelocity(now);
+    }
+
+    public void recordComment(Long postId, Long authorId, Long userId) {
+        long now = System.currentTimeMillis();
+        velocityByPost.computeIfAbsent(postId, id -> new DecayingCounter()).add(2, now, velocityDecayPerMilli);
+        recordAffinity(userId, authorId, 2, now);
+        pruneVelocity(now);
+    }
+
+    public void forget(Long postId) {
+        velocityByPost.remove(postId);
+    }
+
+    /**
+     * Returns the {@code count} best-scoring candidates for {@code viewerId}, best first. A min-heap of size
+     * {@code count} keeps the cost at O(n log count) for n candidates.
+     */
+    public List<PostView> top(Long viewerId, List<PostView> candidates, int count) {
+        if (count <= 0 || candidates.isEmpty()) {
+            return List.of();
+        }
+        long now = System.currentTimeMillis();
+        LocalDateTime nowDate = LocalDateTime.now();
+        Map<Long, DecayingCounter> affinities = affinityByViewer.getOrDefault(viewerId, Map.of());
+        PriorityQueue<Scored> heap = new PriorityQueue<>(count + 1);
+        for (PostView post : candidates) {
+            Scored scored = new Scored(post, score(post, affinities.get(post.author().id()), now, nowDate));
+            if (heap.size() < count) {
+                heap.add(scored);
+            } else if (scored.compareTo(heap.peek()) > 0) {
+                heap.poll();
+                heap.add(scored);
+            }
+        }
+        List<PostView> ranked = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            ranked.add(heap.poll().post());
+        }
+        Collections.reverse(ranked);
+        return ranked;
+    }
+
+    private double score(PostView post, DecayingCounter affinity, long now, LocalDateTime nowDate) {
+        double ageHours = Math.max(0, Duration.between(post.creationDate(), nowDate).toMillis() / 3_600_000.0);
+        double recency = Math.pow(0.5, ageHours / recencyHalfLifeHours);
+        double engagement = Math.log1p(post.likeCount() + 2.0 * post.commentCount());
+        DecayingCounter velocity = velocityByPost.get(post.id());
+        double recentEvents = velocity == null ? 0 : velocity.valueAt(now, velocityDecayPerMilli);
+        double affinityEvents = affinity == null ? 0 : affinity.valueAt(now, affinityDecayPerMilli);
+        return recency * (1 + engagement + Math.log1p(recentEvents)) * (1 + Math.log1p(affinityEvents));
+    }
+
+    private void recordAffinity(Long viewerId, Long authorId, double amount, long now) {
+        if (viewerId.equals(authorId)) {
+            return;
+        }
+        Map<Long, DecayingCounter> affinities = affinityByViewer.computeIfAbsent(viewerId, id -> new ConcurrentHashMap<>());
+        affinities.computeIfAbsent(authorId, id -> new DecayingCounter()).add(amount, now, affinityDecayPerMilli);
+        if (affinities.size() > MAX_AUTHORS_PER_VIEWER) {
+            affinities.values().removeIf(counter -> counter.valueAt(now, affinityDecayPerMilli) < 0.5);
+        }
+    }
+
+    // Counters of posts that stopped getting attention decay towards zero; drop them once they are negligible
+    private void pruneVelocity(long now) {
+        if (velocityByPost.size() > window * 4) {
+            velocityByPost.values().removeIf(counter -> counter.valueAt(now, velocityDecayPerMilli) < 0.01);
+        }
+    }
+
+    // An event count that loses half its weight every half-life
+    private static final class DecayingCounter {
+        private double value;
+        private long updatedAt;
+
+        synchronized void add(double amount, long now, double decayPerMilli) {
+            value = valueAt(now, decayPerMilli) + amount;
+            updatedAt = now;
+        }
+
+        synchronized double valueAt(long now, double decayPerMilli) {
+            return value * Math.exp(-decayPerMilli * Math.max(0, now - updatedAt));
+        }
+    }
+
+    private record Scored(PostView post, double score) implements Comparable<Scored> {
+        @Override
+        public int compareTo(Scored other) {
+            int byScore = Double.compare(score, other.score);
+            return byScore != 0 ? byScore : Long.compare(post.id(), other.post.id());
+        }
+    }
+}
@@ -1,18 +1,36 @@
 package com.Linkdin.linkdinbackend.features.feed.service;
 
+import com.Linkdin.linkdinbackend.features.authentication.dto.AuthorSummary;
 import com.Linkdin.linkdinbackend.features.authentication.model.AuthenticationUser;
 import com.Linkdin.linkdinbackend.features.authentication.repository.AuthenticationUserRepository;
+import com.Linkdin.linkdinbackend.features.feed.dto.CommentView;
+import com.Linkdin.linkdinbackend.features.feed.dto.CursorPage;
+import com.Linkdin.linkdinbackend.features.feed.dto.FeedCursor;
+import com.Linkdin.linkdinbackend.features.feed.dto.LikeEvent;
+import com.Linkdin.linkdinbackend.features.feed.dto.PostCounters;
 import com.Linkdin.linkdinbackend.features.feed.dto.PostDto;
+import com.Linkdin.linkdinbackend.features.feed.dto.PostLikeResult;
+import com.Linkdin.linkdinbackend.features.feed.dto.PostView;
+import com.Linkdin.linkdinbackend.features.feed.dto.TimelineEntry;
 import com.Linkdin.linkdinbackend.features.feed.model.Comment;
 import com.Linkdin.linkdinbackend.features.feed.model.Post;
 import com.Linkdin.linkdinbackend.features.feed.repository.CommentRepository;
 import com.Linkdin.linkdinbackend.features.feed.repository.PostRepository;
 import com.Linkdin.linkdinbackend.features.notifications.service.NotificationService;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 
 // 🚀 This is a "service class" – like the brain 🧠 that handles logic for posts & comments
 // 🎩 It's marked with @Service so Spring Boot knows it should manage this class like a superhero 🦸
@@ -20,31 +38,46 @@ import java.util.Set;
 
 @Service
 public class FeedService {
+    private static final int MAX_PAGE_SIZE = 50;
+
     private final PostRepository postRepository;
     private final AuthenticationUserRepository userRepository;
     private final CommentRepository commentRepository;
     private final NotificationService notificationService;
+    private final FeedTimeline feedTimeline;
+    private final PostCache postCache;
+    private final FeedRanker feedRanker;
 
-    public FeedService(PostRepository postRepository, AuthenticationUserRepository userRepository, CommentRepository commentRepository, NotificationService notificationService) {
+    public FeedService(PostRepository postRepository, AuthenticationUserRepository userRepository, CommentRepository commentRepository, NotificationService notificationService, FeedTimeline feedTimeline, PostCache postCache, FeedRanker feedRanker) {
         this.postRepository = postRepository;
         this.userRepository = userRepository;
         this.commentRepository = commentRepository;
         this.notificationService = notificationService;
+        this.feedTimeline = feedTimeline;
+        this.postCache = postCache;
+        this.feedRanker = feedRanker;
     }
 
-    public Post createPost(PostDto postDto, Long authorId) {
+    public PostView createPost(PostDto postDto, Long authorId) {
         AuthenticationUser author = userRepository.findById(authorId).orElseThrow(() -> new IllegalArgumentException("User not found"));
         Post post = new Post(postDto.getContent(), author);
         post.setPicture(postDto.getPicture());
         post.setLikes(new HashSet<>());
-        return postRepository.save(post);
+        Post savedPost = postRepository.save(post);
+        // Postgres keeps microseconds; match it so timeline cursors line up with the keyset queries
+        feedTimeline.push(new TimelineEntry(savedPost.getId(), authorId, savedPost.getCreationDate().truncatedTo(ChronoUnit.MICROS)));
+        return PostView.from(savedPost);
     }
 
-    public Post getPost(Long postId) {
-        return postRepository.findById(postId).orElseThrow(() -> new IllegalArgumentException("Post not found"));
+    // 🔥 Hot posts are served from PostCache; only a miss reaches the database
+    public PostView getPost(Long postId) {
+        return postCache.get(postId, postRepository::findViewById).orElseThrow(() -> new IllegalArgumentException("Post not found"));
     }
 
-    public Post editPost(Long postId, Long userId, PostDto postDto) {
+    // ✏️ Only content and picture are written; the revision goes up with the same atomic UPDATE likes use,
+    // so a like landing mid-edit is neither lost nor given the same revision as the edit
+    @Transactional
+    public PostView editPost(Long postId, Long userId, PostDto postDto) {
         Post post = postRepository.findById(postId).orElseThrow(() -> new IllegalArgumentException("Post not found"));
         AuthenticationUser user = userRepository.findById(userId).orElseThrow(() -> new IllegalArgumentException("User not found"));
         if (!post.getAuthor().equals(user)) {
@@ -52,7 +85,11 @@ public class FeedService {
         }
         post.setContent(postDto.getContent());
         post.setPicture(postDto.getPicture());
-        return postRepository.save(post);
+        postRepository.saveAndFlush(post);
+        postRepository.bumpRevision(postId);
+        PostView postView = postRepository.findViewById(postId).orElseThrow(() -> new IllegalArgumentException("Post not found"));
+        postCache.evictPost(postId);
+        return postView;
     }
 
     public void deletePost(Long postId, Long userId) {
@@ -62,43 +99,68 @@ public class FeedService {
             throw new IllegalArgumentException("User is not the author of the post");
         }
         postRepository.delete(post);
+        feedTimeline.remove(postId);
+        postCache.evictPost(postId);
+        feedRanker.forget(postId);
     }
 
-    public Post likePost(Long postId, Long userId) {
-        Post post = postRepository.findById(postId).orElseThrow(() -> new IllegalArgumentException("Post not found"));
-        AuthenticationUser user = userRepository.findById(userId).orElseThrow(() -> new IllegalArgumentException("User not found"));
-        if (post.getLikes().contains(user)) {
-            post.getLikes().remove(user);
+    // ⚡ Toggle = one conditional DELETE, or one INSERT ... ON CONFLICT DO NOTHING, plus an atomic counter bump.
+    // Neither Post.likes nor any liker is loaded, so the cost is the same for 1 like or 100k likes.
+    @Transactional
+    public PostLikeResult likePost(Long postId, Long userId) {
+        Long authorId = postRepository.findAuthorIdById(postId).orElseThrow(() -> new IllegalArgumentException("Post not found"));
+        int delta;
+        if (postRepository.deleteLike(postId, userId) > 0) {
+            delta = -1;
+        } else if (postRepository.insertLike(postId, userId) > 0) {
+            delta = 1;
+            // 📮 Just an outbox row in this transaction; the notification itself is written and pushed in the background
+            notificationService.enqueueLikeNotification(userId, authorId, postId);
         } else {
-            post.getLikes().add(user);
-            notificationService.sendLikeNotification(user, post.getAuthor(), post.getId());
+            // A concurrent request from the same user inserted the like first
+            return new PostLikeResult(postId, true, postRepository.findCountersById(postId).likeCount());
         }
-        Post savedPost = postRepository.save(post);
-        notificationService.sendLikeToPost(postId, savedPost.getLikes());
-        return savedPost;
+        postRepository.addToLikeCount(postId, delta);
+        PostCounters counters = postRepository.findCountersById(postId);
+        long likeCount = counters.likeCount();
+        postCache.updateCounters(postId, counters);
+        feedRanker.recordLike(postId, authorId, userId, delta);
+        notificationService.sendLikeToPost(new LikeEvent(postId, userId, delta, likeCount));
+        return new PostLikeResult(postId, delta > 0, likeCount);
     }
 
-    public Comment addComment(Long postId, Long userId, String content) {
-        Post post = postRepository.findById(postId).orElseThrow(() -> new IllegalArgumentException("Post not found"));
+    // 💬 Like likePost: the post is only an id to point the comment at, so it is never loaded (nor its author)
+    @Transactional
+    public CommentView addComment(Long postId, Long userId, String content) {
+        Long authorId = postRepository.findAuthorIdById(postId).orElseThrow(() -> new IllegalArgumentException("Post not found"));
         AuthenticationUser user = userRepository.findById(userId).orElseThrow(() -> new IllegalArgumentException("User not found"));
-        Comment comment = commentRepository.save(new Comment(post, user, content));
-        notificationService.sendCommentNotification(user, post.getAuthor(), post.getId());
-        notificationService.sendCommentToPost(postId, comment);
-        return comment;
+        Comment comment = commentRepository.save(new Comment(postRepository.getReferenceById(postId), user, content));
+        postRepository.addToCommentCount(postId, 1);
+        postCache.evictPost(postId);
+        feedRanker.recordComment(postId, authorId, userId);
+        notificationService.enqueueCommentNotification(userId, authorId, postId);
+        CommentView commentView = CommentView.from(comment);
+        notificationService.sendCommentToPost(postId, commentView);
+        return commentView;
     }
 
-    public Comment editComment(Long commentId, Long userId, String newContent) {
+    @Transactional
+    public CommentView editComment(Long commentId, Long userId, String newContent) {
         Comment comment = commentRepository.findById(commentId).orElseThrow(() -> new IllegalArgumentException("Comment not found"));
         AuthenticationUser user = userRepository.findById(userId).orElseThrow(() -> new IllegalArgumentException("User not found"));
         if (!comment.getAuthor().equals(user)) {
             throw new IllegalArgumentException("User is not the author of the comment");
         }
         comment.setContent(newContent);
-        Comment savedComment = commentRepository.save(comment);
-        notificationService.sendCommentToPost(savedComment.getPost().getId(), savedComment);
-        return savedComment;
+        // Flushed first, so the view carries the updatedDate set by @PreUpdate
+        CommentView commentView = CommentView.from(commentRepository.saveAndFlush(comment));
+        postRepository.bumpRevision(comment.getPost().getId());
+        postCache.evictPost(comment.getPost().getId());
+        notificationService.sendCommentToPost(comment.getPost().getId(), commentView);
+        return commentView;
     }
 
+    @Transactional
     public void deleteComment(Long commentId, Long userId) {
         Comment comment = commentRepository.findById(commentId).orElseThrow(() -> new IllegalArgumentException("Comment not found"));
         AuthenticationUser user = userRepository.findById(userId).orElseThrow(() -> new IllegalArgumentException("User not found"));
@@ -106,29 +168,200 @@ public class FeedService {
             throw new IllegalArgumentException("User is not the author of the comment");
         }
         commentRepository.delete(comment);
-        notificationService.sendDeleteCommentToPost(comment.getPost().getId(), comment);
+        postRepository.addToCommentCount(comment.getPost().getId(), -1);
+        postCache.evictPost(comment.getPost().getId());
+        notificationService.sendDeleteCommentToPost(comment.getPost().getId(), CommentView.from(comment));
+    }
+
+    public CursorPage<PostView> getPostsByUserId(Long userId, String cursor, int limit) {
+        int size = pageSize(limit);
+        if (cursor == null) {
+            return toPage(postRepository.findAuthorPage(userId, Limit.of(size + 1)), size);
+        }
+        FeedCursor after = FeedCursor.decode(cursor);
+        return toPage(postRepository.findAuthorPageBefore(userId, after.creationDate(), after.id(), Limit.of(size + 1)), size);
+    }
+
+    public CursorPage<PostView> getFeedPosts(Long authenticatedUserId, String cursor, int limit) {
+        int size = pageSize(limit);
+        FeedCursor after = cursor == null ? null : FeedCursor.decode(cursor);
+        Optional<List<TimelineEntry>> slice = feedTimeline.slice(authenticatedUserId, after, size + 1);
+        if (slice.isPresent()) {
+            return loadSlice(slice.get(), size);
+        }
+        if (after == null) {
+            return toPage(postRepository.findFeedPage(authenticatedUserId, Limit.of(size + 1)), size);
+        }
+        return toPage(postRepository.findFeedPageBefore(authenticatedUserId, after.creationDate(), after.id(), Limit.of(size + 1)), size);
     }
 
-    public List<Post> getPostsByUserId(Long userId) {
-        return postRepository.findByAuthorId(userId);
+    // 🏆 Ranked mode: score the newest feed.ranking.window posts and page through the result by offset.
+    // Scores move as likes come in, so a post can shift between pages; the cursor is just the next offset.
+    public CursorPage<PostView> getRankedFeedPosts(Long authenticatedUserId, String cursor, int limit) {
+        int size = pageSize(limit);
+        int offset;
+        try {
+            offset = cursor == null ? 0 : Integer.parseInt(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        List<Long> candidateIds = feedTimeline.newest(feedRanker.window()).stream()
+                .filter(entry -> !entry.authorId().equals(authenticatedUserId))
+                .map(TimelineEntry::postId)
+                .toList();
+        List<PostView> candidates = new ArrayList<>(loadViews(candidateIds).values());
+        List<PostView> ranked = feedRanker.top(authenticatedUserId, candidates, offset + size + 1);
+        if (ranked.size() <= offset) {
+            return new CursorPage<>(List.of(), null);
+        }
+        List<PostView> items = ranked.subList(offset, Math.min(ranked.size(), offset + size));
+        String nextCursor = ranked.size() > offset + size ? String.valueOf(offset + size) : null;
+        return new CursorPage<>(items, nextCursor);
     }
 
-    public List<Post> getFeedPosts(Long authenticatedUserId) {
-        return postRepository.findByAuthorIdNotOrderByCreationDateDesc(authenticatedUserId);
+    public CursorPage<PostView> getAllPosts(String cursor, int limit) {
+        int size = pageSize(limit);
+        FeedCursor after = cursor == null ? null : FeedCursor.decode(cursor);
+        Optional<List<TimelineEntry>> slice = feedTimeline.slice(null, after, size + 1);
+        if (slice.isPresent()) {
+            return loadSlice(slice.get(), size);
+        }
+        if (after == null) {
+            return toPage(postRepository.findPage(Limit.of(size + 1)), size);
+        }
+        return toPage(postRepository.findPageBefore(after.creationDate(), after.id(), Limit.of(size + 1)), size);
     }
 
-    public List<Post> getAllPosts() {
-        return postRepository.findAllByOrderByCreationDateDesc();
+    // 🏷️ ETag of one feed page, derived from the page itself: which posts in which order, the revision of each
+    // post and of its author's profile, and where the next page starts. A like only changes the pages showing that post.
+    public String getFeedEtag(CursorPage<PostView> page) {
+        StringBuilder parts = new StringBuilder();
+        for (PostView post : page.items()) {
+            parts.append(post.id()).append(':').append(post.revision()).append(':').append(post.authorRevision()).append(',');
+        }
+        return etag("f", parts.append(page.nextCursor()));
     }
 
+    // 🏷️ ETag of one comment page, answered before the page is read. Adding, editing or deleting a comment bumps
+    // the post's revision, and so does a profile change of anyone who commented on it. Read with one primary-key
+    // lookup rather than from PostCache, which is not evicted for a commenter's profile change.
+    public String getPostCommentsEtag(Long postId, String cursor, int limit) {
+        PostCounters counters = postRepository.findCountersById(postId);
+        if (counters == null) {
+            throw new IllegalArgumentException("Post not found");
+        }
+        return "\"c" + postId + "-" + counters.revision() + "-" + etagPart(cursor) + "-" + pageSize(limit) + "\"";
+    }
 
-    public List<Comment> getPostComments(Long postId) {
-        Post post = postRepository.findById(postId).orElseThrow(() -> new IllegalArgumentException("Post not found"));
-        return post.getComments();
+    // Cursors are base64url; anything else could not be put in an ETag and is no valid cursor anyway
+    private static String etagPart(String cursor) {
+        if (cursor == null) {
+            return "";
+        }
+        if (!cursor.matches("[A-Za-z0-9_=-]+")) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return cursor;
     }
 
-    public Set<AuthenticationUser> getPostLikes(Long postId) {
-        Post post = postRepository.findById(postId).orElseThrow(() -> new IllegalArgumentException("Post not found"));
-        return post.getLikes();
+    private static String etag(String prefix, CharSequence parts) {
+        return "\"" + prefix + DigestUtils.md5DigestAsHex(parts.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // 📏 Keep page sizes sane: never less than one post, never more than MAX_PAGE_SIZE
+    private static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    // 🔖 Queries fetch one extra row; if it is there, another page exists and the cursor points at the last kept post
+    private static CursorPage<PostView> toPage(List<PostView> rows, int size) {
+        return toPage(rows, size, post -> post.cursor().encode());
+    }
+
+    private static <T> CursorPage<T> toPage(List<T> rows, int size, Function<T, String> cursorOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        return new CursorPage<>(items, cursorOf.apply(items.get(size - 1)));
+    }
+
+    // 🧵 Timeline slices only carry ids; cached posts are reused, the rest come from one query, all put back in timeline order
+    private CursorPage<PostView> loadSlice(List<TimelineEntry> entries, int size) {
+        List<TimelineEntry> kept = entries.size() > size ? entries.subList(0, size) : entries;
+        Map<Long, PostView> postsById = loadViews(kept.stream().map(TimelineEntry::postId).toList());
+        List<PostView> posts = new ArrayList<>(kept.size());
+        for (TimelineEntry entry : kept) {
+            PostView post = postsById.get(entry.postId());
+            if (post != null) {
+                posts.add(post);
+            }
+        }
+        String nextCursor = entries.size() > size ? kept.get(size - 1).cursor().encode() : null;
+        return new CursorPage<>(posts, nextCursor);
+    }
+
+    // 📚 Posts in the given id order (e.g. search hits); ids that no longer exist are skipped
+    public List<PostView> getPostsByIds(List<Long> postIds) {
+        Map<Long, PostView> postsById = loadViews(postIds);
+        List<PostView> posts = new ArrayList<>(postIds.size());
+        for (Long postId : postIds) {
+            PostView post = postsById.get(postId);
+            if (post != null) {
+                posts.add(post);
+            }
+        }
+        return posts;
+    }
+
+    private Map<Long, PostView> loadViews(List<Long> postIds) {
+        return postCache.getAll(postIds, missing -> {
+            Map<Long, PostView> loaded = new HashMap<>();
+            for (PostView post : postRepository.findViewsByIdIn(List.copyOf(missing))) {
+                loaded.put(post.id(), post);
+            }
+            return loaded;
+        });
+    }
+
+    // 💬 One page of comments with their authors, fetched by a single join query.
+    // The first page is the one everybody opens, so it is cached at MAX_PAGE_SIZE + 1 rows and cut down to size.
+    public CursorPage<CommentView> getPostComments(Long postId, String cursor, int limit) {
+        getPost(postId);
+        int size = pageSize(limit);
+        List<CommentView> comments;
+        if (cursor == null) {
+            comments = postCache.getFirstComments(postId, id -> List.copyOf(commentRepository.findPostPage(id, Limit.of(MAX_PAGE_SIZE + 1))));
+            comments = comments.subList(0, Math.min(comments.size(), size + 1));
+        } else {
+            FeedCursor after = FeedCursor.decode(cursor);
+            comments = commentRepository.findPostPageBefore(postId, after.creationDate(), after.id(), Limit.of(size + 1));
+        }
+        return toPage(comments, size, comment -> comment.cursor().encode());
+    }
+
+    public long getPostCommentCount(Long postId) {
+        return getPost(postId).commentCount();
+    }
+
+    // 👍 Likers in user-id order; the cursor is simply the last user id of the previous page
+    public CursorPage<AuthorSummary> getPostLikes(Long postId, String cursor, int limit) {
+        getPost(postId);
+        int size = pageSize(limit);
+        long afterUserId;
+        try {
+            afterUserId = cursor == null ? 0L : Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        List<AuthorSummary> likers = postRepository.findLikersAfter(postId, afterUserId, Limit.of(size + 1));
+        return toPage(likers, size, liker -> String.valueOf(liker.id()));
+    }
+
+    public boolean isPostLikedBy(Long postId, Long userId) {
+        return postRepository.existsLike(postId, userId);
     }
-}
\ No newline at end of file
+}
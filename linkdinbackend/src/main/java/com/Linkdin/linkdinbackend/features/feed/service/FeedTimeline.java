@@ -0,0 +1,257 @@
+package com.Linkdin.linkdinbackend.features.feed.service;
+
+import com.Linkdin.linkdinbackend.features.feed.dto.FeedCursor;
+import com.Linkdin.linkdinbackend.features.feed.dto.TimelineEntry;
+import com.Linkdin.linkdinbackend.features.feed.repository.PostRepository;
+import com.Linkdin.linkdinbackend.features.ws.dto.RelayResyncEvent;
+import com.Linkdin.linkdinbackend.features.ws.dto.RelayedEvent;
+import com.Linkdin.linkdinbackend.features.ws.service.BrokerRelay;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 📰 Materialized home timeline, written on post creation and read without touching the posts table.
+// There is no follow graph: every post goes to every other user, so all recipients would get the
+// same list. One shared, bounded ring of the newest entries is kept and each reader filters out
+// their own posts. Anything the ring cannot answer completely falls back to the keyset queries.
+// 🌐 Every change is broadcast through the BrokerRelay, so the rings of other nodes see it too.
+@Component
+public class FeedTimeline {
+    private static final String TOPIC = "feed.timeline";
+
+    private final PostRepository postRepository;
+    private final BrokerRelay brokerRelay;
+    private final int capacity;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Logical index 0 is the newest entry, stored at ring[head]
+    private final TimelineEntry[] ring;
+    private int head = 0;
+    private int size = 0;
+    private boolean loaded = false;
+    // True while the ring still holds every post in the database (nothing was ever evicted)
+    private boolean complete = false;
+
+    public FeedTimeline(PostRepository postRepository, BrokerRelay brokerRelay,
+                        @Value("${feed.timeline.capacity:1000}") int capacity) {
+        this.postRepository = postRepository;
+        this.brokerRelay = brokerRelay;
+        this.capacity = capacity;
+        this.ring = new TimelineEntry[capacity];
+    }
+
+    public void push(TimelineEntry entry) {
+        insert(entry);
+        brokerRelay.broadcast(TOPIC, Map.of("push", Map.of(
+                "postId", entry.postId(),
+                "authorId", entry.authorId(),
+                "creationDate", entry.creationDate().toString())));
+    }
+
+    public void remove(Long postId) {
+        removePost(postId);
+        brokerRelay.broadcast(TOPIC, Map.of("remove", postId));
+    }
+
+    public void removeAuthor(Long authorId) {
+        removePostsOf(authorId);
+        brokerRelay.broadcast(TOPIC, Map.of("removeAuthor", authorId));
+    }
+
+    @EventListener
+    public void onRelayed(RelayedEvent event) {
+        if (!TOPIC.equals(event.topic())) {
+            return;
+        }
+        JsonNode change = event.payload();
+        if (change.has("push")) {
+            JsonNode entry = change.get("push");
+            insert(new TimelineEntry(entry.path("postId").asLong(), entry.path("authorId").asLong(),
+                    LocalDateTime.parse(entry.path("creationDate").asText())));
+        } else if (change.has("remove")) {
+            removePost(change.get("remove").asLong());
+        } else if (change.has("removeAuthor")) {
+            removePostsOf(change.get("removeAuthor").asLong());
+        }
+    }
+
+    // Changes from other nodes may have been missed: the next read loads the ring again
+    @EventListener(RelayResyncEvent.class)
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            Arrays.fill(ring, null);
+            head = 0;
+            size = 0;
+            loaded = false;
+            complete = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void insert(TimelineEntry entry) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                // The first read loads the ring from the database and will see this post there
+                return;
+            }
+            int position = 0;
+            while (position < size && !get(position).isBefore(entry.cursor())) {
+                if (get(position).postId().equals(entry.postId())) {
+                    return;
+                }
+                position++;
+            }
+            if (position == size && size == capacity) {
+                complete = false;
+                return;
+            }
+            if (size == capacity) {
+                size--;
+                complete = false;
+            }
+            head = (head - 1 + capacity) % capacity;
+            size++;
+            for (int i = 0; i < position; i++) {
+                set(i, get(i + 1));
+            }
+            set(position, entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removePost(Long postId) {
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < size; i++) {
+                if (get(i).postId().equals(postId)) {
+                    removeAt(i);
+                    return;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removePostsOf(Long authorId) {
+        lock.writeLock().lock();
+        try {
+            int i = 0;
+            while (i < size) {
+                if (get(i).authorId().equals(authorId)) {
+                    removeAt(i);
+                } else {
+                    i++;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code count} entries after {@code after} (or from the top when null), skipping posts
+     * written by {@code excludedAuthorId}. Empty when the ring cannot prove it holds the full answer.
+     */
+    public Optional<List<TimelineEntry>> slice(Long excludedAuthorId, FeedCursor after, int count) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            List<TimelineEntry> entries = new ArrayList<>(count);
+            int i = 0;
+            if (after != null) {
+                while (i < size && !get(i).isBefore(after)) {
+                    i++;
+                }
+                if (i == size && !complete) {
+                    return Optional.empty();
+                }
+            }
+            for (; i < size && entries.size() < count; i++) {
+                TimelineEntry entry = get(i);
+                if (!entry.authorId().equals(excludedAuthorId)) {
+                    entries.add(entry);
+                }
+            }
+            if (entries.size() < count && !complete) {
+                return Optional.empty();
+            }
+            return Optional.of(entries);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The newest {@code count} entries (fewer if the ring holds fewer), newest first
+    public List<TimelineEntry> newest(int count) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            List<TimelineEntry> entries = new ArrayList<>(Math.min(count, size));
+            for (int i = 0; i < size && i < count; i++) {
+                entries.add(get(i));
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        lock.readLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            List<TimelineEntry> newest = postRepository.findTimelineEntries(Limit.of(capacity + 1));
+            size = Math.min(newest.size(), capacity);
+            head = 0;
+            for (int i = 0; i < size; i++) {
+                ring[i] = newest.get(i);
+            }
+            complete = newest.size() <= capacity;
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeAt(int position) {
+        for (int i = position; i < size - 1; i++) {
+            set(i, get(i + 1));
+        }
+        set(size - 1, null);
+        size--;
+    }
+
+    private TimelineEntry get(int index) {
+        return ring[(head + index) % capacity];
+    }
+
+    private void set(int index, TimelineEntry entry) {
+        ring[(head + index) % capacity] = entry;
+    }
+}
@@ -0,0 +1,176 @@
+package com.Linkdin.linkdinbackend.features.feed.service;
+
+import com.Linkdin.linkdinbackend.features.feed.dto.CommentView;
+import com.Linkdin.linkdinbackend.features.feed.dto.PostCounters;
+import com.Linkdin.linkdinbackend.features.feed.dto.PostView;
+import com.Linkdin.linkdinbackend.features.ws.dto.RelayResyncEvent;
+import com.Linkdin.linkdinbackend.features.ws.dto.RelayedEvent;
+import com.Linkdin.linkdinbackend.features.ws.service.BrokerRelay;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache of hot posts and of the first page of their comments.
+ * <p>
+ * Entries are evicted by Caffeine's W-TinyLFU policy once {@code feed.cache.max-posts} is reached and
+ * expire {@code feed.cache.ttl-seconds} after being written. Every write path in {@link FeedService}
+ * updates or evicts exactly the entries it touches; evictions run immediately and again once the
+ * surrounding transaction commits, so a reader racing the commit cannot put the old row back for long.
+ * The serialized JSON of the same posts lives in {@link PostJsonCache} and is evicted together with them.
+ * Each update and eviction is also broadcast through the {@link BrokerRelay} and applied by the other nodes
+ * once it commits; a node that may have missed some drops everything.
+ * Hit/miss/eviction counters are published through Micrometer as {@code cache.*{cache=feed.posts}}
+ * and {@code cache.*{cache=feed.comments}}.
+ */
+@Component
+public class PostCache {
+    private static final String TOPIC = "feed.posts";
+
+    private final Cache<Long, PostView> posts;
+    private final Cache<Long, List<CommentView>> firstComments;
+    private final PostJsonCache postJsonCache;
+    private final BrokerRelay brokerRelay;
+
+    public PostCache(MeterRegistry meterRegistry, PostJsonCache postJsonCache, BrokerRelay brokerRelay,
+                     @Value("${feed.cache.max-posts:10000}") long maxPosts,
+                     @Value("${feed.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.posts = Caffeine.newBuilder()
+                .maximumSize(maxPosts)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.firstComments = Caffeine.newBuilder()
+                .maximumSize(maxPosts)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, posts, "feed.posts");
+        CaffeineCacheMetrics.monitor(meterRegistry, firstComments, "feed.comments");
+        this.postJsonCache = postJsonCache;
+        this.brokerRelay = brokerRelay;
+    }
+
+    public Optional<PostView> get(Long postId, Function<Long, Optional<PostView>> loader) {
+        return Optional.ofNullable(posts.get(postId, id -> loader.apply(id).orElse(null)));
+    }
+
+    // Misses are loaded together by one call to the loader; ids it does not return are simply absent
+    public Map<Long, PostView> getAll(Collection<Long> postIds, Function<Set<? extends Long>, Map<Long, PostView>> loader) {
+        return posts.getAll(postIds, loader);
+    }
+
+    // The first page is cached at its largest size; any smaller first page is a prefix of it
+    public List<CommentView> getFirstComments(Long postId, Function<Long, List<CommentView>> loader) {
+        return firstComments.get(postId, loader);
+    }
+
+    // Counters read after a like/unlike; an older read arriving late (lower revision) is ignored
+    public void updateCounters(Long postId, PostCounters counters) {
+        afterCommit(() -> applyCounters(postId, counters));
+        brokerRelay.broadcast(TOPIC, Map.of("counters", Map.of(
+                "postId", postId,
+                "likeCount", counters.likeCount(),
+                "commentCount", counters.commentCount(),
+                "revision", counters.revision())));
+    }
+
+    public void evictPost(Long postId) {
+        evict(() -> dropPost(postId));
+        brokerRelay.broadcast(TOPIC, Map.of("evictPost", postId));
+    }
+
+    // A profile change shows up in every post and comment the user wrote
+    public void evictAuthor(Long userId) {
+        evict(() -> dropAuthor(userId));
+        brokerRelay.broadcast(TOPIC, Map.of("evictAuthor", userId));
+    }
+
+    public void evictAll() {
+        evict(this::dropAll);
+        brokerRelay.broadcast(TOPIC, Map.of("evictAll", true));
+    }
+
+    // Sent once the other node committed, so nothing is left to race
+    @EventListener
+    public void onRelayed(RelayedEvent event) {
+        if (!TOPIC.equals(event.topic())) {
+            return;
+        }
+        JsonNode change = event.payload();
+        if (change.has("counters")) {
+            JsonNode counters = change.get("counters");
+            applyCounters(counters.path("postId").asLong(), new PostCounters(counters.path("likeCount").asLong(),
+                    counters.path("commentCount").asLong(), counters.path("revision").asLong()));
+        } else if (change.has("evictPost")) {
+            dropPost(change.get("evictPost").asLong());
+        } else if (change.has("evictAuthor")) {
+            dropAuthor(change.get("evictAuthor").asLong());
+        } else if (change.has("evictAll")) {
+            dropAll();
+        }
+    }
+
+    @EventListener(RelayResyncEvent.class)
+    public void onResync() {
+        dropAll();
+    }
+
+    private void applyCounters(Long postId, PostCounters counters) {
+        posts.asMap().computeIfPresent(postId, (id, post) ->
+                counters.revision() > post.revision() ? post.withCounters(counters) : post);
+        postJsonCache.evict(postId);
+    }
+
+    private void dropPost(Long postId) {
+        posts.invalidate(postId);
+        firstComments.invalidate(postId);
+        postJsonCache.evict(postId);
+    }
+
+    private void dropAuthor(Long userId) {
+        posts.asMap().values().removeIf(post -> post.author().id().equals(userId));
+        firstComments.asMap().values().removeIf(comments ->
+                comments.stream().anyMatch(comment -> comment.author().id().equals(userId)));
+        postJsonCache.evictAuthor(userId);
+    }
+
+    private void dropAll() {
+        posts.invalidateAll();
+        firstComments.invalidateAll();
+        postJsonCache.evictAll();
+    }
+
+    private static void evict(Runnable eviction) {
+        eviction.run();
+        afterCommit(eviction);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,181 @@
+package com.Linkdin.linkdinbackend.features.feed.service;
+
+import com.Linkdin.linkdinbackend.features.authentication.model.AuthenticationUser;
+import com.Linkdin.linkdinbackend.features.authentication.repository.AuthenticationUserRepository;
+import com.Linkdin.linkdinbackend.features.feed.dto.PostDto;
+import com.Linkdin.linkdinbackend.features.feed.dto.TimelineEntry;
+import com.Linkdin.linkdinbackend.features.feed.model.Post;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.work.SearchIndexingPlan;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+// 📦 Bulk post creation for importers and migrations.
+// "insert" persists through Hibernate with JDBC batching (sequence ids + hibernate.jdbc.batch_size),
+// "copy" streams rows into Postgres with COPY, which is the fastest way in for very large imports.
+@Service
+public class PostImportService {
+    private static final int MAX_POSTS_PER_REQUEST = 10_000;
+    private static final int COPY_INDEX_CHUNK = 500;
+
+    private final AuthenticationUserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final FeedTimeline feedTimeline;
+    private final int batchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public PostImportService(AuthenticationUserRepository userRepository, JdbcTemplate jdbcTemplate, FeedTimeline feedTimeline,
+                             @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.feedTimeline = feedTimeline;
+        this.batchSize = batchSize;
+    }
+
+    @Transactional
+    public int importPosts(Long authorId, List<PostDto> postDtos, String mode) {
+        if (postDtos == null || postDtos.isEmpty()) {
+            throw new IllegalArgumentException("No posts to import");
+        }
+        if (postDtos.size() > MAX_POSTS_PER_REQUEST) {
+            throw new IllegalArgumentException("At most " + MAX_POSTS_PER_REQUEST + " posts per batch");
+        }
+        for (PostDto postDto : postDtos) {
+            if (postDto.getContent() == null || postDto.getContent().isBlank()) {
+                throw new IllegalArgumentException("Post content is required");
+            }
+        }
+        AuthenticationUser author = userRepository.findById(authorId).orElseThrow(() -> new IllegalArgumentException("User not found"));
+        List<TimelineEntry> entries = switch (mode) {
+            case "insert" -> insert(author, postDtos);
+            case "copy" -> copy(author, postDtos);
+            default -> throw new IllegalArgumentException("Unknown import mode: " + mode);
+        };
+        // The new posts only become readable once the transaction commits
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entries.forEach(feedTimeline::push);
+            }
+        });
+        return entries.size();
+    }
+
+    // ⚡ Persist + flush every batchSize posts: one multi-row INSERT per batch instead of one round trip per post
+    private List<TimelineEntry> insert(AuthenticationUser author, List<PostDto> postDtos) {
+        List<TimelineEntry> entries = new ArrayList<>(postDtos.size());
+        List<Post> pending = new ArrayList<>(batchSize);
+        for (PostDto postDto : postDtos) {
+            Post post = new Post(postDto.getContent(), author);
+            post.setPicture(postDto.getPicture());
+            post.setLikes(new HashSet<>());
+            entityManager.persist(post);
+            pending.add(post);
+            if (pending.size() == batchSize) {
+                flush(pending, entries);
+            }
+        }
+        flush(pending, entries);
+        return entries;
+    }
+
+    private void flush(List<Post> pending, List<TimelineEntry> entries) {
+        entityManager.flush();
+        for (Post post : pending) {
+            entries.add(new TimelineEntry(post.getId(), post.getAuthor().getId(), post.getCreationDate().truncatedTo(ChronoUnit.MICROS)));
+        }
+        pending.clear();
+        entityManager.clear();
+    }
+
+    // 🚚 COPY bypasses Hibernate, so ids are reserved from posts_seq in the same blocks Hibernate uses
+    // and the search index is fed explicitly afterwards
+    private List<TimelineEntry> copy(AuthenticationUser author, List<PostDto> postDtos) {
+        List<Long> ids = reserveIds(postDtos.size());
+        LocalDateTime creationDate = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                    "COPY posts (id, content, picture, author_id, like_count, comment_count, revision, creation_date) FROM STDIN WITH (FORMAT csv)");
+            try {
+                for (int i = 0; i < postDtos.size(); i++) {
+                    PostDto postDto = postDtos.get(i);
+                    String row = ids.get(i) + "," + csv(postDto.getContent()) + "," + csv(postDto.getPicture()) + ","
+                            + author.getId() + ",0,0,0," + creationDate + "\n";
+                    byte[] bytes = row.getBytes(StandardCharsets.UTF_8);
+                    copyIn.writeToCopy(bytes, 0, bytes.length);
+                }
+                return copyIn.endCopy();
+            } catch (SQLException | RuntimeException e) {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+                throw e;
+            }
+        });
+        indexCopiedPosts(ids);
+
+        List<TimelineEntry> entries = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            entries.add(new TimelineEntry(id, author.getId(), creationDate));
+        }
+        return entries;
+    }
+
+    // Each nextval hands out a block of ID_ALLOCATION_SIZE ids ending at the returned value (Hibernate's pooled optimizer)
+    private List<Long> reserveIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            int blocks = (count - ids.size() + Post.ID_ALLOCATION_SIZE - 1) / Post.ID_ALLOCATION_SIZE;
+            List<Long> highs = jdbcTemplate.queryForList("SELECT nextval('posts_seq') FROM generate_series(1, ?)", Long.class, blocks);
+            for (Long high : highs) {
+                // The sequence starts at 1, which Hibernate treats as its own first block
+                if (high < Post.ID_ALLOCATION_SIZE) {
+                    continue;
+                }
+                for (long id = high - Post.ID_ALLOCATION_SIZE + 1; id <= high && ids.size() < count; id++) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private void indexCopiedPosts(List<Long> ids) {
+        SearchIndexingPlan indexingPlan = Search.session(entityManager).indexingPlan();
+        for (int from = 0; from < ids.size(); from += COPY_INDEX_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + COPY_INDEX_CHUNK));
+            List<Post> posts = entityManager.createQuery("SELECT p FROM posts p JOIN FETCH p.author WHERE p.id IN :ids", Post.class)
+                    .setParameter("ids", chunk)
+                    .getResultList();
+            posts.forEach(indexingPlan::addOrUpdate);
+            indexingPlan.execute();
+            entityManager.clear();
+        }
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,225 @@
+package com.Linkdin.linkdinbackend.features.feed.service;
+
+import com.Linkdin.linkdinbackend.features.feed.dto.PostView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Off-heap LRU cache of the serialized JSON of individual posts.
+ * <p>
+ * The bytes live in direct {@link ByteBuffer} slabs carved into fixed-size blocks; an entry is the list
+ * of blocks holding its JSON. Only the small index (post id to block list) is on the heap, so a large
+ * cache adds nothing for the garbage collector to trace or copy. Feed pages are written by copying
+ * each post's bytes straight to the response, separated by commas, instead of running Jackson again.
+ * <p>
+ * Entries remember the post and author profile revisions they were rendered from and are only served for those;
+ * {@link PostCache} evicts them alongside its own entries on every write.
+ */
+@Component
+public class PostJsonCache {
+    private static final int SLAB_BYTES = 1 << 20;
+
+    private final ObjectMapper objectMapper;
+    private final int blockSize;
+    private final int blocksPerSlab;
+    private final int totalBlocks;
+    private final ByteBuffer[] slabs;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Access-ordered: iteration starts at the least recently used entry
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(1024, 0.75f, true);
+    private final int[] freeBlocks;
+    private int freeCount;
+    // Per-thread copy-out buffer, reused so a hit allocates nothing
+    private final ThreadLocal<byte[]> scratch = ThreadLocal.withInitial(() -> new byte[8192]);
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public PostJsonCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                         @Value("${feed.json-cache.capacity-mb:64}") int capacityMb,
+                         @Value("${feed.json-cache.block-size:256}") int blockSize) {
+        this.objectMapper = objectMapper;
+        this.blockSize = blockSize;
+        this.blocksPerSlab = SLAB_BYTES / blockSize;
+        this.slabs = new ByteBuffer[capacityMb];
+        for (int i = 0; i < slabs.length; i++) {
+            slabs[i] = ByteBuffer.allocateDirect(SLAB_BYTES);
+        }
+        this.totalBlocks = blocksPerSlab * slabs.length;
+        this.freeBlocks = new int[totalBlocks];
+        for (int i = 0; i < totalBlocks; i++) {
+            freeBlocks[i] = totalBlocks - 1 - i;
+        }
+        this.freeCount = totalBlocks;
+
+        this.hits = meterRegistry.counter("feed.json_cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("feed.json_cache.requests", "result", "miss");
+        this.evictions = meterRegistry.counter("feed.json_cache.evictions");
+        Gauge.builder("feed.json_cache.used_bytes", this, cache -> cache.usedBlocks() * (double) cache.blockSize)
+                .register(meterRegistry);
+    }
+
+    // Writes the posts as a JSON array
+    public void writeArray(List<PostView> posts, OutputStream out) throws IOException {
+        out.write('[');
+        for (int i = 0; i < posts.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            write(posts.get(i), out);
+        }
+        out.write(']');
+    }
+
+    public void write(PostView post, OutputStream out) throws IOException {
+        byte[] buffer = null;
+        int length = 0;
+        lock.lock();
+        try {
+            Entry entry = entries.get(post.id());
+            if (entry != null && entry.revision() == post.revision() && entry.authorRevision() == post.authorRevision()) {
+                length = entry.length();
+                buffer = scratchFor(length);
+                copyOut(entry, buffer);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (buffer != null) {
+            hits.increment();
+            out.write(buffer, 0, length);
+            return;
+        }
+        misses.increment();
+        byte[] json = objectMapper.writeValueAsBytes(post);
+        store(post, json);
+        out.write(json);
+    }
+
+    public void evict(Long postId) {
+        lock.lock();
+        try {
+            Entry entry = entries.remove(postId);
+            if (entry != null) {
+                release(entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void evictAuthor(Long authorId) {
+        lock.lock();
+        try {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (entry.authorId().equals(authorId)) {
+                    iterator.remove();
+                    release(entry);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void evictAll() {
+        lock.lock();
+        try {
+            entries.values().forEach(this::release);
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void store(PostView post, byte[] json) {
+        int needed = (json.length + blockSize - 1) / blockSize;
+        // One oversized post must not flush a large part of the cache
+        if (needed > totalBlocks / 4) {
+            return;
+        }
+        lock.lock();
+        try {
+            Entry previous = entries.remove(post.id());
+            if (previous != null) {
+                release(previous);
+            }
+            Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+            while (freeCount < needed && eldest.hasNext()) {
+                release(eldest.next().getValue());
+                eldest.remove();
+                evictions.increment();
+            }
+            int[] blocks = new int[needed];
+            for (int i = 0; i < needed; i++) {
+                int block = freeBlocks[--freeCount];
+                blocks[i] = block;
+                int offset = i * blockSize;
+                slab(block).put(position(block), json, offset, Math.min(blockSize, json.length - offset));
+            }
+            entries.put(post.id(), new Entry(post.revision(), post.authorRevision(), post.author().id(), json.length, blocks));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void copyOut(Entry entry, byte[] buffer) {
+        int[] blocks = entry.blocks();
+        for (int i = 0; i < blocks.length; i++) {
+            int offset = i * blockSize;
+            slab(blocks[i]).get(position(blocks[i]), buffer, offset, Math.min(blockSize, entry.length() - offset));
+        }
+    }
+
+    private void release(Entry entry) {
+        for (int block : entry.blocks()) {
+            freeBlocks[freeCount++] = block;
+        }
+    }
+
+    private byte[] scratchFor(int length) {
+        byte[] buffer = scratch.get();
+        if (buffer.length < length) {
+            buffer = new byte[Integer.highestOneBit(length) << 1];
+            scratch.set(buffer);
+        }
+        return buffer;
+    }
+
+    private ByteBuffer slab(int block) {
+        return slabs[block / blocksPerSlab];
+    }
+
+    private int position(int block) {
+        return (block % blocksPerSlab) * blockSize;
+    }
+
+    private int usedBlocks() {
+        lock.lock();
+        try {
+            return totalBlocks - freeCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Entry(long revision, long authorRevision, Long authorId, int length, int[] blocks) {
+    }
+}
@@ -2,11 +2,15 @@ package com.Linkdin.linkdinbackend.features.notifications.controller;
 
 
 import com.Linkdin.linkdinbackend.features.authentication.model.AuthenticationUser;
-import com.Linkdin.linkdinbackend.features.notifications.model.Notification;
+import com.Linkdin.linkdinbackend.features.feed.controller.FeedController;
+import com.Linkdin.linkdinbackend.features.feed.dto.CursorPage;
+import com.Linkdin.linkdinbackend.features.notifications.dto.NotificationView;
 import com.Linkdin.linkdinbackend.features.notifications.service.NotificationService;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/notifications")
@@ -18,13 +22,30 @@ public class NotificationsController {
     }
 
     @GetMapping
-    public List<Notification> getUserNotifications(@RequestAttribute("authenticatedUser") AuthenticationUser user) {
-        return notificationService.getUserNotifications(user);
+    public ResponseEntity<List<NotificationView>> getUserNotifications(@RequestAttribute("authenticatedUser") AuthenticationUser user,
+                                                                       @RequestParam(required = false) String cursor,
+                                                                       @RequestParam(defaultValue = "20") int limit) {
+        CursorPage<NotificationView> page = notificationService.getUserNotifications(user.getId(), cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(FeedController.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    @GetMapping("/unread-count")
+    public Map<String, Long> getUnreadCount(@RequestAttribute("authenticatedUser") AuthenticationUser user) {
+        return Map.of("count", notificationService.getUnreadCount(user.getId()));
+    }
+
+    @PutMapping("/read")
+    public Map<String, Integer> markAllNotificationsAsRead(@RequestAttribute("authenticatedUser") AuthenticationUser user) {
+        return Map.of("updated", notificationService.markAllNotificationsAsRead(user.getId()));
     }
 
     @PutMapping("/{notificationId}")
-    public Notification markNotificationAsRead(@PathVariable Long notificationId) {
-        return notificationService.markNotificationAsRead(notificationId);
+    public NotificationView markNotificationAsRead(@RequestAttribute("authenticatedUser") AuthenticationUser user,
+                                                   @PathVariable Long notificationId) {
+        return notificationService.markNotificationAsRead(user.getId(), notificationId);
     }
 }
-
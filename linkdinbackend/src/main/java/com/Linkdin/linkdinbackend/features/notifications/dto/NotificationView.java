@@ -0,0 +1,50 @@
+package com.Linkdin.linkdinbackend.features.notifications.dto;
+
+import com.Linkdin.linkdinbackend.features.authentication.dto.AuthorSummary;
+import com.Linkdin.linkdinbackend.features.feed.dto.FeedCursor;
+import com.Linkdin.linkdinbackend.features.notifications.model.Notification;
+import com.Linkdin.linkdinbackend.features.notifications.model.NotificationType;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read model of a notification. The recipient is always the caller (or the topic owner), so it is left out.
+ * {@code actor} is the most recent of {@code actorCount} actors grouped into this notification.
+ */
+public record NotificationView(
+        Long id,
+        AuthorSummary actor,
+        int actorCount,
+        List<Long> sampleActorIds,
+        boolean read,
+        NotificationType type,
+        Long resourceId,
+        LocalDateTime creationDate,
+        LocalDateTime lastActivityDate
+) {
+    // Flat form for JPQL constructor expressions
+    public NotificationView(Long id, boolean read, NotificationType type, Long resourceId, LocalDateTime creationDate,
+                            int actorCount, Long[] sampleActorIds, LocalDateTime lastActivityDate,
+                            Long actorId, String actorFirstName, String actorLastName, String actorPosition,
+                            String actorCompany, String actorLocation, String actorProfilePicture) {
+        this(id,
+                new AuthorSummary(actorId, actorFirstName, actorLastName, actorPosition, actorCompany,
+                        actorLocation, actorProfilePicture),
+                actorCount, sampleActorIds == null ? List.of() : Arrays.asList(sampleActorIds),
+                read, type, resourceId, creationDate, lastActivityDate);
+    }
+
+    public static NotificationView from(Notification notification) {
+        return new NotificationView(notification.getId(), AuthorSummary.from(notification.getActor()),
+                notification.getActorCount(), notification.getSampleActorIds(),
+                notification.isRead(), notification.getType(), notification.getResourceId(),
+                notification.getCreationDate(), notification.getLastActivityDate());
+    }
+
+    // Notification pages are ordered by last activity, which is what the cursor records
+    public FeedCursor cursor() {
+        return new FeedCursor(lastActivityDate, id);
+    }
+}
@@ -4,13 +4,29 @@ package com.Linkdin.linkdinbackend.features.notifications.model;
 import com.Linkdin.linkdinbackend.features.authentication.model.AuthenticationUser;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
-
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One notification row per (recipient, type, resource) and aggregation window: further likes or comments
+ * on the same post update the row in place ("Alice and 41 others liked your post") instead of adding rows.
+ */
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_notification_aggregation", columnList = "recipient_id, type, resource_id, last_activity_date"),
+        @Index(name = "idx_notification_recipient_activity_id", columnList = "recipient_id, last_activity_date DESC, id DESC")
+})
 public class Notification {
+    public static final int SAMPLE_ACTORS = 3;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_seq")
+    @SequenceGenerator(name = "notification_seq", sequenceName = "notification_seq", allocationSize = 50)
     private Long id;
     @ManyToOne
     private AuthenticationUser recipient;
@@ -20,6 +36,13 @@ public class Notification {
     private NotificationType type;
     private Long resourceId;
 
+    // The most recent actor is kept in actor; the count includes every actor folded into this row
+    private int actorCount;
+    // Most recent distinct actors first, at most SAMPLE_ACTORS of them
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private Long[] sampleActorIds;
+    private LocalDateTime lastActivityDate;
+
     @CreationTimestamp
     private LocalDateTime creationDate;
 
@@ -29,6 +52,9 @@ public class Notification {
         this.type = type;
         this.isRead = false;
         this.resourceId = resourceId;
+        this.actorCount = 1;
+        this.sampleActorIds = new Long[]{actor.getId()};
+        this.lastActivityDate = LocalDateTime.now();
     }
 
     public Notification() {
@@ -90,4 +116,37 @@ public class Notification {
     public void setCreationDate(LocalDateTime creationDate) {
         this.creationDate = creationDate;
     }
+
+    public int getActorCount() {
+        return actorCount;
+    }
+
+    public List<Long> getSampleActorIds() {
+        return sampleActorIds == null ? List.of() : Arrays.asList(sampleActorIds);
+    }
+
+    public LocalDateTime getLastActivityDate() {
+        return lastActivityDate;
+    }
+
+    /**
+     * Folds one more actor into this notification and makes it unread again. An actor already among the
+     * samples only moves to the front: repeated activity by the same few people is not counted twice.
+     * Beyond the samples the count cannot tell actors apart, so it is approximate for large groups.
+     *
+     * @return whether the notification was read before, i.e. went back to unread
+     */
+    public boolean addActor(AuthenticationUser actor, LocalDateTime activityDate) {
+        boolean wasRead = isRead;
+        List<Long> samples = new ArrayList<>(getSampleActorIds());
+        if (!samples.remove(actor.getId())) {
+            actorCount++;
+        }
+        samples.add(0, actor.getId());
+        this.sampleActorIds = samples.subList(0, Math.min(SAMPLE_ACTORS, samples.size())).toArray(Long[]::new);
+        this.actor = actor;
+        this.isRead = false;
+        this.lastActivityDate = activityDate;
+        return wasRead;
+    }
 }
@@ -0,0 +1,65 @@
+package com.Linkdin.linkdinbackend.features.notifications.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification that has been decided on but not yet delivered. Written in the same transaction as the
+ * like or comment that caused it, and turned into a {@link Notification} by the outbox dispatcher.
+ * Only ids are kept, so enqueueing never loads a user.
+ */
+@Entity
+@Table(name = "notification_outbox")
+public class NotificationOutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_outbox_seq")
+    @SequenceGenerator(name = "notification_outbox_seq", sequenceName = "notification_outbox_seq", allocationSize = 50)
+    private Long id;
+    @Column(nullable = false)
+    private Long actorId;
+    @Column(nullable = false)
+    private Long recipientId;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationType type;
+    private Long resourceId;
+
+    @CreationTimestamp
+    private LocalDateTime creationDate;
+
+    public NotificationOutboxEvent(Long actorId, Long recipientId, NotificationType type, Long resourceId) {
+        this.actorId = actorId;
+        this.recipientId = recipientId;
+        this.type = type;
+        this.resourceId = resourceId;
+    }
+
+    public NotificationOutboxEvent() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getActorId() {
+        return actorId;
+    }
+
+    public Long getRecipientId() {
+        return recipientId;
+    }
+
+    public NotificationType getType() {
+        return type;
+    }
+
+    public Long getResourceId() {
+        return resourceId;
+    }
+
+    public LocalDateTime getCreationDate() {
+        return creationDate;
+    }
+}
@@ -0,0 +1,28 @@
+package com.Linkdin.linkdinbackend.features.notifications.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Number of unread notifications of a user, kept up to date as notifications become unread (new, or
+ * re-opened by aggregation) and read, so the badge is a primary key lookup instead of a count.
+ * Missing rows mean zero.
+ */
+@Entity
+@Table(name = "notification_unread_counts")
+public class NotificationUnreadCount {
+    @Id
+    private Long userId;
+    @Column(nullable = false)
+    private long unreadCount;
+
+    public NotificationUnreadCount() {
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getUnreadCount() {
+        return unreadCount;
+    }
+}
@@ -0,0 +1,7 @@
+package com.Linkdin.linkdinbackend.features.notifications.repository;
+
+import com.Linkdin.linkdinbackend.features.notifications.model.NotificationOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxEvent, Long> {
+}
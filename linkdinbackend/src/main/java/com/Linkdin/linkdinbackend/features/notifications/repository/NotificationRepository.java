@@ -1,12 +1,74 @@
 package com.Linkdin.linkdinbackend.features.notifications.repository;
 
 import com.Linkdin.linkdinbackend.features.authentication.model.AuthenticationUser;
+import com.Linkdin.linkdinbackend.features.notifications.dto.NotificationView;
 import com.Linkdin.linkdinbackend.features.notifications.model.Notification;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByRecipient(AuthenticationUser recipient);
-    List<Notification> findByRecipientOrderByCreationDateDesc(AuthenticationUser user);
-}
\ No newline at end of file
+
+    // Pages are built straight from one join with the actor; the recipient is the caller and never loaded.
+    // Ordered by (lastActivityDate DESC, id DESC); the "...Before" variant continues after a cursor.
+    @Query("""
+            SELECT new com.Linkdin.linkdinbackend.features.notifications.dto.NotificationView(
+                n.id, n.isRead, n.type, n.resourceId, n.creationDate, n.actorCount, n.sampleActorIds, n.lastActivityDate,
+                a.id, a.firstName, a.lastName, a.position, a.company, a.location, a.profilePicture)
+            FROM Notification n JOIN n.actor a
+            WHERE n.recipient.id = :recipientId
+            ORDER BY n.lastActivityDate DESC, n.id DESC""")
+    List<NotificationView> findPageByRecipientId(@Param("recipientId") Long recipientId, Limit limit);
+
+    @Query("""
+            SELECT new com.Linkdin.linkdinbackend.features.notifications.dto.NotificationView(
+                n.id, n.isRead, n.type, n.resourceId, n.creationDate, n.actorCount, n.sampleActorIds, n.lastActivityDate,
+                a.id, a.firstName, a.lastName, a.position, a.company, a.location, a.profilePicture)
+            FROM Notification n JOIN n.actor a
+            WHERE n.recipient.id = :recipientId
+              AND n.lastActivityDate <= :lastActivityDate
+              AND (n.lastActivityDate < :lastActivityDate OR n.id < :id)
+            ORDER BY n.lastActivityDate DESC, n.id DESC""")
+    List<NotificationView> findPageByRecipientIdBefore(@Param("recipientId") Long recipientId,
+                                                       @Param("lastActivityDate") LocalDateTime lastActivityDate,
+                                                       @Param("id") Long id,
+                                                       Limit limit);
+
+    @Query("""
+            SELECT new com.Linkdin.linkdinbackend.features.notifications.dto.NotificationView(
+                n.id, n.isRead, n.type, n.resourceId, n.creationDate, n.actorCount, n.sampleActorIds, n.lastActivityDate,
+                a.id, a.firstName, a.lastName, a.position, a.company, a.location, a.profilePicture)
+            FROM Notification n JOIN n.actor a
+            WHERE n.id = :id AND n.recipient.id = :recipientId""")
+    Optional<NotificationView> findViewByIdAndRecipientId(@Param("id") Long id, @Param("recipientId") Long recipientId);
+
+    // Conditional, so a notification read twice concurrently is only counted once
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.id = :id AND n.recipient.id = :recipientId AND n.isRead = false")
+    int markRead(@Param("id") Long id, @Param("recipientId") Long recipientId);
+
+    // Served by the partial index on unread rows (see import.sql)
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.recipient.id = :recipientId AND n.isRead = false")
+    int markAllRead(@Param("recipientId") Long recipientId);
+
+    @Query("""
+            SELECT new com.Linkdin.linkdinbackend.features.notifications.dto.NotificationView(
+                n.id, n.isRead, n.type, n.resourceId, n.creationDate, n.actorCount, n.sampleActorIds, n.lastActivityDate,
+                a.id, a.firstName, a.lastName, a.position, a.company, a.location, a.profilePicture)
+            FROM Notification n JOIN n.actor a
+            WHERE n.id IN :ids""")
+    List<NotificationView> findViewsByIdIn(@Param("ids") List<Long> ids);
+
+    // Open aggregation groups the dispatcher has already locked, with the users it reads
+    @Query("SELECT n FROM Notification n JOIN FETCH n.actor JOIN FETCH n.recipient WHERE n.id IN :ids")
+    List<Notification> findWithUsersByIdIn(@Param("ids") Collection<Long> ids);
+}
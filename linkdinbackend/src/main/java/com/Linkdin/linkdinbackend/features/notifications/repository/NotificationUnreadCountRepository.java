@@ -0,0 +1,17 @@
+package com.Linkdin.linkdinbackend.features.notifications.repository;
+
+import com.Linkdin.linkdinbackend.features.notifications.model.NotificationUnreadCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface NotificationUnreadCountRepository extends JpaRepository<NotificationUnreadCount, Long> {
+    // Creates the row on first use; concurrent writers serialize on the row lock
+    @Modifying
+    @Query(value = """
+            INSERT INTO notification_unread_counts (user_id, unread_count) VALUES (:userId, :delta)
+            ON CONFLICT (user_id) DO UPDATE SET unread_count = notification_unread_counts.unread_count + EXCLUDED.unread_count""",
+            nativeQuery = true)
+    void add(@Param("userId") Long userId, @Param("delta") long delta);
+}
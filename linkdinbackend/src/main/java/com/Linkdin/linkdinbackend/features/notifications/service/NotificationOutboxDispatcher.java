@@ -0,0 +1,225 @@
+package com.Linkdin.linkdinbackend.features.notifications.service;
+
+import com.Linkdin.linkdinbackend.features.authentication.model.AuthenticationUser;
+import com.Linkdin.linkdinbackend.features.notifications.dto.NotificationView;
+import com.Linkdin.linkdinbackend.features.notifications.model.Notification;
+import com.Linkdin.linkdinbackend.features.notifications.model.NotificationType;
+import com.Linkdin.linkdinbackend.features.notifications.repository.NotificationRepository;
+import com.Linkdin.linkdinbackend.features.notifications.repository.NotificationUnreadCountRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Drains the notification outbox: claims a batch of events, folds them into {@link Notification} rows
+ * and pushes the changed rows to the recipients once that commits.
+ * <p>
+ * Events are grouped by (recipient, type, resource). A group updates the row of the same group whose last
+ * activity is within {@code notifications.aggregation.window-hours}, or starts a new row, so a viral post
+ * costs its author one row per window. Pushes thin out as the group grows (see {@link #shouldPublish}).
+ * <p>
+ * Claiming deletes the events with {@code FOR UPDATE SKIP LOCKED}, in the same transaction as the inserts,
+ * so an event is either still in the outbox or turned into exactly one notification. Several instances can
+ * drain concurrently without waiting on each other, and events left behind by a crash or restart are
+ * picked up by the next run.
+ */
+@Service
+public class NotificationOutboxDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(NotificationOutboxDispatcher.class);
+    private static final String CLAIM_SQL = """
+            DELETE FROM notification_outbox
+            WHERE id IN (SELECT id FROM notification_outbox ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED)
+            RETURNING id, actor_id, recipient_id, type, resource_id, creation_date""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationRepository notificationRepository;
+    private final NotificationUnreadCountRepository unreadCountRepository;
+    private final NotificationService notificationService;
+    private final int batchSize;
+    private final Duration aggregationWindow;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public NotificationOutboxDispatcher(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                        NotificationRepository notificationRepository, NotificationUnreadCountRepository unreadCountRepository,
+                                        NotificationService notificationService,
+                                        @Value("${notifications.outbox.batch-size:200}") int batchSize,
+                                        @Value("${notifications.aggregation.window-hours:24}") long aggregationWindowHours) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.notificationRepository = notificationRepository;
+        this.unreadCountRepository = unreadCountRepository;
+        this.notificationService = notificationService;
+        this.batchSize = batchSize;
+        this.aggregationWindow = Duration.ofHours(aggregationWindowHours);
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.outbox.poll-interval-ms:500}")
+    public void dispatch() {
+        try {
+            Integer claimed;
+            do {
+                claimed = transactionTemplate.execute(status -> dispatchBatch());
+            } while (claimed != null && claimed == batchSize);
+        } catch (RuntimeException e) {
+            // The batch rolled back into the outbox and is retried on the next run
+            log.warn("Notification outbox dispatch failed", e);
+        }
+    }
+
+    private int dispatchBatch() {
+        List<OutboxEvent> events = jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new OutboxEvent(
+                rs.getLong("id"),
+                rs.getLong("actor_id"),
+                rs.getLong("recipient_id"),
+                NotificationType.valueOf(rs.getString("type")),
+                rs.getObject("resource_id", Long.class),
+                rs.getObject("creation_date", LocalDateTime.class)), batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        events.sort(Comparator.comparing(OutboxEvent::id));
+
+        // Users deleted after the event was written have nothing left to notify or be notified about
+        Set<Long> userIds = new HashSet<>();
+        events.forEach(event -> {
+            userIds.add(event.actorId());
+            userIds.add(event.recipientId());
+        });
+        Set<Long> existingUserIds = new HashSet<>(entityManager
+                .createQuery("SELECT u.id FROM users u WHERE u.id IN :ids", Long.class)
+                .setParameter("ids", userIds)
+                .getResultList());
+        Map<GroupKey, List<OutboxEvent>> groups = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            if (existingUserIds.contains(event.actorId()) && existingUserIds.contains(event.recipientId())) {
+                groups.computeIfAbsent(GroupKey.of(event), key -> new ArrayList<>()).add(event);
+            }
+        }
+        if (groups.isEmpty()) {
+            return events.size();
+        }
+
+        // Every event of a group lands in the same row: the open one if there is one, else a new one
+        Map<GroupKey, Notification> openGroups = new HashMap<>();
+        List<Long> openIds = lockOpenGroups(groups.keySet(), LocalDateTime.now().minus(aggregationWindow));
+        if (!openIds.isEmpty()) {
+            for (Notification notification : notificationRepository.findWithUsersByIdIn(openIds)) {
+                openGroups.merge(GroupKey.of(notification), notification,
+                        (a, b) -> a.getLastActivityDate().isAfter(b.getLastActivityDate()) ? a : b);
+            }
+        }
+
+        Map<Notification, Long> toPublish = new HashMap<>();
+        Map<Long, Long> unreadDeltas = new HashMap<>();
+        for (Map.Entry<GroupKey, List<OutboxEvent>> group : groups.entrySet()) {
+            List<OutboxEvent> groupEvents = group.getValue();
+            Notification notification = openGroups.get(group.getKey());
+            int countBefore = 0;
+            int first = 0;
+            if (notification == null) {
+                OutboxEvent event = groupEvents.get(0);
+                notification = new Notification(
+                        entityManager.getReference(AuthenticationUser.class, event.actorId()),
+                        entityManager.getReference(AuthenticationUser.class, event.recipientId()),
+                        event.type(),
+                        event.resourceId());
+                entityManager.persist(notification);
+                unreadDeltas.merge(event.recipientId(), 1L, Long::sum);
+                first = 1;
+            } else {
+                countBefore = notification.getActorCount();
+            }
+            for (OutboxEvent event : groupEvents.subList(first, groupEvents.size())) {
+                if (notification.addActor(entityManager.getReference(AuthenticationUser.class, event.actorId()), event.creationDate())) {
+                    unreadDeltas.merge(group.getKey().recipientId(), 1L, Long::sum);
+                }
+            }
+            if (shouldPublish(countBefore, notification.getActorCount())) {
+                toPublish.put(notification, group.getKey().recipientId());
+            }
+        }
+        entityManager.flush();
+        // After the notification rows: every writer locks notifications before counters, so they cannot deadlock
+        unreadDeltas.forEach(unreadCountRepository::add);
+
+        Map<Long, Long> recipientByNotification = new HashMap<>();
+        toPublish.forEach((notification, recipientId) -> {
+            // Offline recipients see the row when they next load the page; no view to build for them
+            if (notificationService.isListeningForNotifications(recipientId)) {
+                recipientByNotification.put(notification.getId(), recipientId);
+            }
+        });
+        entityManager.clear();
+        if (recipientByNotification.isEmpty()) {
+            return events.size();
+        }
+        // The relay holds these back until the batch commits
+        List<NotificationView> views = notificationRepository.findViewsByIdIn(new ArrayList<>(recipientByNotification.keySet()));
+        views.forEach(view -> notificationService.publishNotification(recipientByNotification.get(view.id()), view));
+        return events.size();
+    }
+
+    // Locks the open rows of exactly these (recipient, type, resource) groups, so concurrent dispatchers fold
+    // their events into a group one after the other without blocking on unrelated rows. Locked in id order,
+    // so two dispatchers never wait on each other in a cycle. The type column holds the enum ordinal.
+    private List<Long> lockOpenGroups(Collection<GroupKey> keys, LocalDateTime since) {
+        StringJoiner values = new StringJoiner(", ");
+        List<Object> args = new ArrayList<>(keys.size() * 3 + 1);
+        for (GroupKey key : keys) {
+            values.add("(?, ?, ?)");
+            args.add(key.recipientId());
+            args.add(key.type().ordinal());
+            args.add(key.resourceId());
+        }
+        args.add(since);
+        return jdbcTemplate.queryForList("""
+                SELECT n.id FROM notification n
+                JOIN (VALUES %s) AS g (recipient_id, type, resource_id)
+                  ON n.recipient_id = g.recipient_id AND n.type = g.type AND n.resource_id = g.resource_id
+                WHERE n.last_activity_date >= ?
+                ORDER BY n.id
+                FOR UPDATE OF n""".formatted(values), Long.class, args.toArray());
+    }
+
+    // Every actor while the group is small, then only at 4, 8, 16, ...: a post with n likes pushes O(log n) times
+    private static boolean shouldPublish(int countBefore, int countAfter) {
+        return countAfter <= 3 || Integer.highestOneBit(countAfter) > countBefore;
+    }
+
+    private record GroupKey(Long recipientId, NotificationType type, Long resourceId) {
+        static GroupKey of(OutboxEvent event) {
+            return new GroupKey(event.recipientId(), event.type(), event.resourceId());
+        }
+
+        static GroupKey of(Notification notification) {
+            return new GroupKey(notification.getRecipient().getId(), notification.getType(), notification.getResourceId());
+        }
+    }
+
+    private record OutboxEvent(Long id, Long actorId, Long recipientId, NotificationType type, Long resourceId,
+                               LocalDateTime creationDate) {
+    }
+}
@@ -0,0 +1,135 @@
+package com.Linkdin.linkdinbackend.features.notifications.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.function.IntSupplier;
+
+/**
+ * Keeps the notification table from growing forever.
+ * <ul>
+ *     <li>Compaction: rows of the same (recipient, type, resource) whose last activity is older than
+ *     {@code compact-after-days} are merged into the newest of them, so a post that was liked in many
+ *     separate aggregation windows ends up as one row.</li>
+ *     <li>Purge: read notifications older than {@code read-days} are deleted.</li>
+ * </ul>
+ * Both run in small batches, each in its own short transaction, with a pause in between, so the job never
+ * holds many locks or competes for long with user traffic. Rows locked by someone else are skipped and
+ * picked up by the next run. Unread counters are adjusted in the same statement as the rows they count.
+ */
+@Service
+public class NotificationRetentionJob {
+    private static final Logger log = LoggerFactory.getLogger(NotificationRetentionJob.class);
+
+    private static final String COMPACT_SQL = """
+            WITH targets AS (
+                SELECT recipient_id, type, resource_id
+                FROM notification
+                WHERE last_activity_date < ?
+                GROUP BY recipient_id, type, resource_id
+                HAVING count(*) > 1
+                LIMIT ?
+            ), locked AS (
+                SELECT n.id, n.recipient_id, n.type, n.resource_id, n.actor_count, n.is_read, n.last_activity_date
+                FROM notification n JOIN targets t USING (recipient_id, type, resource_id)
+                WHERE n.last_activity_date < ?
+                FOR UPDATE OF n SKIP LOCKED
+            ), groups AS (
+                SELECT recipient_id, type, resource_id,
+                       max(id) AS keep_id,
+                       sum(actor_count) AS actor_count,
+                       bool_and(is_read) AS all_read,
+                       max(last_activity_date) AS last_activity_date,
+                       (CASE WHEN bool_and(is_read) THEN 0 ELSE 1 END) - count(*) FILTER (WHERE NOT is_read) AS unread_delta
+                FROM locked
+                GROUP BY recipient_id, type, resource_id
+            ), merged AS (
+                UPDATE notification n
+                SET actor_count = g.actor_count, is_read = g.all_read, last_activity_date = g.last_activity_date
+                FROM groups g
+                WHERE n.id = g.keep_id
+                RETURNING n.id
+            ), removed AS (
+                DELETE FROM notification n
+                USING locked l, groups g
+                WHERE n.id = l.id
+                  AND l.recipient_id = g.recipient_id AND l.type = g.type AND l.resource_id = g.resource_id
+                  AND n.id <> g.keep_id
+                RETURNING n.id
+            ), counted AS (
+                INSERT INTO notification_unread_counts (user_id, unread_count)
+                SELECT recipient_id, sum(unread_delta) FROM groups
+                GROUP BY recipient_id
+                HAVING sum(unread_delta) <> 0
+                ON CONFLICT (user_id) DO UPDATE SET unread_count = notification_unread_counts.unread_count + EXCLUDED.unread_count
+            )
+            SELECT count(*) FROM removed""";
+
+    // Read rows only, so unread counters are unaffected; served by the partial index on read rows (see import.sql)
+    private static final String PURGE_SQL = """
+            DELETE FROM notification
+            WHERE id IN (
+                SELECT id FROM notification
+                WHERE is_read = true AND last_activity_date < ?
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final int readRetentionDays;
+    private final int compactAfterDays;
+
+    public NotificationRetentionJob(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                    @Value("${notifications.retention.batch-size:1000}") int batchSize,
+                                    @Value("${notifications.retention.pause-ms:100}") long pauseMillis,
+                                    @Value("${notifications.retention.read-days:90}") int readRetentionDays,
+                                    @Value("${notifications.retention.compact-after-days:30}") int compactAfterDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+        this.readRetentionDays = readRetentionDays;
+        this.compactAfterDays = compactAfterDays;
+    }
+
+    @Scheduled(cron = "${notifications.retention.cron:0 30 3 * * *}")
+    public void run() {
+        try {
+            LocalDateTime compactBefore = LocalDateTime.now().minusDays(compactAfterDays);
+            int compacted = inBatches(() -> jdbcTemplate.queryForObject(COMPACT_SQL, Integer.class,
+                    compactBefore, batchSize, compactBefore));
+            LocalDateTime purgeBefore = LocalDateTime.now().minusDays(readRetentionDays);
+            int purged = inBatches(() -> jdbcTemplate.update(PURGE_SQL, purgeBefore, batchSize));
+            log.info("Notification retention: {} rows compacted away, {} read rows purged", compacted, purged);
+        } catch (RuntimeException e) {
+            log.warn("Notification retention failed; finished batches are kept", e);
+        }
+    }
+
+    // Runs one batch per transaction until a batch finds nothing left to do
+    private int inBatches(IntSupplier batch) {
+        int total = 0;
+        while (true) {
+            Integer removed = transactionTemplate.execute(status -> batch.getAsInt());
+            if (removed == null || removed == 0) {
+                return total;
+            }
+            total += removed;
+            try {
+                Thread.sleep(pauseMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return total;
+            }
+        }
+    }
+}
@@ -1,81 +1,120 @@
 package com.Linkdin.linkdinbackend.features.notifications.service;
 
 
-import com.Linkdin.linkdinbackend.features.authentication.model.AuthenticationUser;
-import com.Linkdin.linkdinbackend.features.feed.model.Comment;
-import com.Linkdin.linkdinbackend.features.notifications.model.Notification;
+import com.Linkdin.linkdinbackend.features.feed.dto.CommentView;
+import com.Linkdin.linkdinbackend.features.feed.dto.CursorPage;
+import com.Linkdin.linkdinbackend.features.feed.dto.FeedCursor;
+import com.Linkdin.linkdinbackend.features.feed.dto.LikeEvent;
+import com.Linkdin.linkdinbackend.features.notifications.dto.NotificationView;
+import com.Linkdin.linkdinbackend.features.notifications.model.NotificationOutboxEvent;
 import com.Linkdin.linkdinbackend.features.notifications.model.NotificationType;
+import com.Linkdin.linkdinbackend.features.notifications.repository.NotificationOutboxRepository;
 import com.Linkdin.linkdinbackend.features.notifications.repository.NotificationRepository;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import com.Linkdin.linkdinbackend.features.notifications.repository.NotificationUnreadCountRepository;
+import com.Linkdin.linkdinbackend.features.ws.service.BrokerRelay;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Set;
 
 @Service
 public class NotificationService {
+    private static final int MAX_PAGE_SIZE = 50;
+
     private final NotificationRepository notificationRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationUnreadCountRepository unreadCountRepository;
+    private final BrokerRelay brokerRelay;
 
-    public NotificationService(NotificationRepository notificationRepository, SimpMessagingTemplate messagingTemplate) {
+    public NotificationService(NotificationRepository notificationRepository, NotificationOutboxRepository outboxRepository,
+                               NotificationUnreadCountRepository unreadCountRepository, BrokerRelay brokerRelay) {
         this.notificationRepository = notificationRepository;
-        this.messagingTemplate = messagingTemplate;
+        this.outboxRepository = outboxRepository;
+        this.unreadCountRepository = unreadCountRepository;
+        this.brokerRelay = brokerRelay;
     }
 
-    public List<Notification> getUserNotifications(AuthenticationUser user) {
-        return notificationRepository.findByRecipientOrderByCreationDateDesc(user);
+    public CursorPage<NotificationView> getUserNotifications(Long userId, String cursor, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<NotificationView> rows;
+        if (cursor == null) {
+            rows = notificationRepository.findPageByRecipientId(userId, Limit.of(size + 1));
+        } else {
+            FeedCursor after = FeedCursor.decode(cursor);
+            rows = notificationRepository.findPageByRecipientIdBefore(userId, after.creationDate(), after.id(), Limit.of(size + 1));
+        }
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<NotificationView> items = rows.subList(0, size);
+        return new CursorPage<>(items, items.get(size - 1).cursor().encode());
     }
 
-    public void sendLikeToPost(Long postId, Set<AuthenticationUser> likes) {
-        messagingTemplate.convertAndSend("/topic/likes/" + postId, likes);
+    public long getUnreadCount(Long userId) {
+        // Clamped: a negative count can only come from a bug elsewhere and must not reach the badge
+        return unreadCountRepository.findById(userId).map(count -> Math.max(0, count.getUnreadCount())).orElse(0L);
     }
 
-    public void sendCommentToPost(Long postId, Comment comment) {
-        messagingTemplate.convertAndSend("/topic/comments/" + postId, comment);
+    public void sendLikeToPost(LikeEvent likeEvent) {
+        brokerRelay.publish("/topic/likes/" + likeEvent.postId(), likeEvent);
     }
 
-    public void sendDeleteCommentToPost(Long postId, Comment comment) {
-        messagingTemplate.convertAndSend("/topic/comments/" + postId + "/delete", comment);
+    public void sendCommentToPost(Long postId, CommentView comment) {
+        brokerRelay.publish("/topic/comments/" + postId, comment);
     }
 
-    public void sendCommentNotification(AuthenticationUser author, AuthenticationUser recipient, Long resourceId) {
-        if (author.getId().equals(recipient.getId())) {
-            return;
-        }
+    public void sendDeleteCommentToPost(Long postId, CommentView comment) {
+        brokerRelay.publish("/topic/comments/" + postId + "/delete", comment);
+    }
 
-        Notification notification = new Notification(
-                author,
-                recipient,
-                NotificationType.COMMENT,
-                resourceId
-        );
-        notificationRepository.save(notification);
+    // Only recorded here, in the caller's transaction; NotificationOutboxDispatcher stores and pushes it later
+    public void enqueueCommentNotification(Long actorId, Long recipientId, Long resourceId) {
+        enqueue(actorId, recipientId, NotificationType.COMMENT, resourceId);
+    }
 
-        messagingTemplate.convertAndSend("/topic/users/" + recipient.getId() + "/notifications", notification);
+    public void enqueueLikeNotification(Long actorId, Long recipientId, Long resourceId) {
+        enqueue(actorId, recipientId, NotificationType.LIKE, resourceId);
     }
 
+    // False while the recipient has no open session, so callers can skip loading the view at all
+    public boolean isListeningForNotifications(Long recipientId) {
+        return brokerRelay.hasSubscribers(notificationsDestination(recipientId));
+    }
 
-    public void sendLikeNotification(AuthenticationUser author, AuthenticationUser recipient, Long resourceId) {
-        if (author.getId().equals(recipient.getId())) {
+    public void publishNotification(Long recipientId, NotificationView notification) {
+        brokerRelay.publish(notificationsDestination(recipientId), notification);
+    }
+
+    private static String notificationsDestination(Long recipientId) {
+        return "/topic/users/" + recipientId + "/notifications";
+    }
+
+    private void enqueue(Long actorId, Long recipientId, NotificationType type, Long resourceId) {
+        if (actorId.equals(recipientId)) {
             return;
         }
+        outboxRepository.save(new NotificationOutboxEvent(actorId, recipientId, type, resourceId));
+    }
 
-        Notification notification = new Notification(
-                author,
-                recipient,
-                NotificationType.LIKE,
-                resourceId
-        );
-        notificationRepository.save(notification);
-
-        messagingTemplate.convertAndSend("/topic/users/" + recipient.getId() + "/notifications", notification);
+    @Transactional
+    public NotificationView markNotificationAsRead(Long userId, Long notificationId) {
+        if (notificationRepository.markRead(notificationId, userId) > 0) {
+            unreadCountRepository.add(userId, -1);
+        }
+        // Someone else's notification is reported exactly like a missing one
+        NotificationView view = notificationRepository.findViewByIdAndRecipientId(notificationId, userId)
+                .orElseThrow(() -> new IllegalArgumentException("Notification not found"));
+        publishNotification(userId, view);
+        return view;
     }
 
-    public Notification markNotificationAsRead(Long notificationId) {
-        Notification notification = notificationRepository.findById(notificationId).orElseThrow(() -> new IllegalArgumentException("Notification not found"));
-        notification.setRead(true);
-        messagingTemplate.convertAndSend("/topic/users/" + notification.getRecipient().getId() + "/notifications", notification);
-        return notificationRepository.save(notification);
+    @Transactional
+    public int markAllNotificationsAsRead(Long userId) {
+        int updated = notificationRepository.markAllRead(userId);
+        if (updated > 0) {
+            unreadCountRepository.add(userId, -updated);
+        }
+        return updated;
     }
 }
-
@@ -0,0 +1,26 @@
+package com.Linkdin.linkdinbackend.features.search.configuration;
+
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurationContext;
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurer;
+
+// Analyzers referenced by the @FullTextField mappings, registered through
+// hibernate.search.backend.analysis.configurer in application.properties
+public class SearchAnalysisConfigurer implements LuceneAnalysisConfigurer {
+
+    @Override
+    public void configure(LuceneAnalysisConfigurationContext context) {
+        // Post bodies: "hiring engineers" should match "hired an engineer"
+        context.analyzer("english").custom()
+                .tokenizer("standard")
+                .tokenFilter("lowercase")
+                .tokenFilter("asciiFolding")
+                .tokenFilter("snowballPorter")
+                .param("language", "English");
+
+        // Names are matched as written, minus case and accents: "Zoe" finds "Zoë", no stemming
+        context.analyzer("name").custom()
+                .tokenizer("standard")
+                .tokenFilter("lowercase")
+                .tokenFilter("asciiFolding");
+    }
+}
@@ -0,0 +1,45 @@
+package com.Linkdin.linkdinbackend.features.search.configuration;
+
+import com.Linkdin.linkdinbackend.features.feed.model.Post;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.search.mapper.orm.Search;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the post index from the database when the application is started with {@code --reindex}.
+ * Day-to-day changes are indexed automatically as posts are saved or deleted; this is for a lost or
+ * outdated index directory. Ids are scrolled by one thread while {@code search.reindex.threads} threads
+ * load and index entities in parallel.
+ */
+@Component
+public class SearchReindexRunner implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(SearchReindexRunner.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final int threads;
+
+    public SearchReindexRunner(EntityManagerFactory entityManagerFactory,
+                               @Value("${search.reindex.threads:4}") int threads) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.threads = threads;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        if (!args.containsOption("reindex")) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Search.mapping(entityManagerFactory).scope(Post.class).massIndexer()
+                .threadsToLoadObjects(threads)
+                .batchSizeToLoadObjects(100)
+                .purgeAllOnStart(true)
+                .startAndWait();
+        logger.info("Search index rebuilt in {} ms", System.currentTimeMillis() - start);
+    }
+}
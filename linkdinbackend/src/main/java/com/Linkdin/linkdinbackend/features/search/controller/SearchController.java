@@ -0,0 +1,49 @@
+package com.Linkdin.linkdinbackend.features.search.controller;
+
+import com.Linkdin.linkdinbackend.features.feed.controller.FeedController;
+import com.Linkdin.linkdinbackend.features.feed.dto.CursorPage;
+import com.Linkdin.linkdinbackend.features.feed.dto.PostView;
+import com.Linkdin.linkdinbackend.features.search.dto.PeopleSearchResult;
+import com.Linkdin.linkdinbackend.features.search.service.PeopleIndex;
+import com.Linkdin.linkdinbackend.features.search.service.SearchService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/search")
+public class SearchController {
+    private static final int MAX_PEOPLE = 50;
+
+    private final SearchService searchService;
+    private final PeopleIndex peopleIndex;
+
+    public SearchController(SearchService searchService, PeopleIndex peopleIndex) {
+        this.searchService = searchService;
+        this.peopleIndex = peopleIndex;
+    }
+
+    @GetMapping("/posts")
+    public ResponseEntity<List<PostView>> searchPosts(@RequestParam String q,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "20") int limit) {
+        CursorPage<PostView> page = searchService.searchPosts(q, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(FeedController.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    @GetMapping("/people")
+    public PeopleSearchResult searchPeople(@RequestParam(required = false) String prefix,
+                                           @RequestParam(required = false) String company,
+                                           @RequestParam(required = false) String location,
+                                           @RequestParam(defaultValue = "10") int limit) {
+        return peopleIndex.search(prefix, company, location, Math.max(1, Math.min(limit, MAX_PEOPLE)));
+    }
+}
@@ -0,0 +1,17 @@
+package com.Linkdin.linkdinbackend.features.search.dto;
+
+import com.Linkdin.linkdinbackend.features.authentication.dto.AuthorSummary;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One typeahead answer: the first matching people plus how the matches split by company and location.
+ * Facet counts cover every match when there is no prefix, and the first scanned matches otherwise.
+ */
+public record PeopleSearchResult(
+        List<AuthorSummary> people,
+        Map<String, Long> companies,
+        Map<String, Long> locations
+) {
+}
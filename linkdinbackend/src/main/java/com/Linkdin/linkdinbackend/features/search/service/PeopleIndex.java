@@ -0,0 +1,283 @@
+package com.Linkdin.linkdinbackend.features.search.service;
+
+import com.Linkdin.linkdinbackend.features.authentication.dto.AuthorSummary;
+import com.Linkdin.linkdinbackend.features.authentication.model.AuthenticationUser;
+import com.Linkdin.linkdinbackend.features.authentication.repository.AuthenticationUserRepository;
+import com.Linkdin.linkdinbackend.features.search.dto.PeopleSearchResult;
+import com.Linkdin.linkdinbackend.features.ws.dto.RelayResyncEvent;
+import com.Linkdin.linkdinbackend.features.ws.dto.RelayedEvent;
+import com.Linkdin.linkdinbackend.features.ws.service.BrokerRelay;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory typeahead index over user profiles.
+ * <p>
+ * Every word of a user's first name, last name, company and position is stored as a sorted
+ * {@code word NUL userId} key, so all users having a word that starts with a prefix form one contiguous
+ * range of the skip list: a keystroke costs a log(n) seek plus a walk over the matches it returns.
+ * Users are also grouped by exact company and location, which gives exact facet counts and cheap
+ * filtering. Reads are lock-free; writes come from {@code AuthenticationService} one user at a time,
+ * and are broadcast through the {@link BrokerRelay} so the index of every other node follows.
+ */
+@Component
+public class PeopleIndex {
+    private static final char SEPARATOR = '\u0000';
+    private static final Pattern WORD_SPLIT = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final int BUILD_PAGE_SIZE = 1000;
+    private static final String TOPIC = "search.people";
+
+    private final AuthenticationUserRepository userRepository;
+    private final BrokerRelay brokerRelay;
+    private final int scanLimit;
+
+    private final NavigableSet<String> wordKeys = new ConcurrentSkipListSet<>();
+    private final Map<Long, IndexedUser> users = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> usersByCompany = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> usersByLocation = new ConcurrentHashMap<>();
+
+    public PeopleIndex(AuthenticationUserRepository userRepository, BrokerRelay brokerRelay,
+                       @Value("${search.people.scan-limit:5000}") int scanLimit) {
+        this.userRepository = userRepository;
+        this.brokerRelay = brokerRelay;
+        this.scanLimit = scanLimit;
+    }
+
+    // Reads the profile columns page by page in id order, so startup never holds every user (or any entity) at once
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        indexAll();
+    }
+
+    // Changes from other nodes may have been missed: index everyone again and drop whoever is gone. Ids above
+    // the last one read belong to users who registered meanwhile and are kept.
+    @EventListener(RelayResyncEvent.class)
+    public void rebuild() {
+        Set<Long> indexed = indexAll();
+        long lastId = indexed.stream().mapToLong(Long::longValue).max().orElse(0);
+        users.keySet().stream()
+                .filter(userId -> userId <= lastId && !indexed.contains(userId))
+                .toList()
+                .forEach(this::drop);
+    }
+
+    public void index(AuthenticationUser user) {
+        index(AuthorSummary.from(user));
+    }
+
+    public void index(AuthorSummary summary) {
+        put(summary);
+        brokerRelay.broadcast(TOPIC, Map.of("index", summary));
+    }
+
+    public void remove(Long userId) {
+        drop(userId);
+        brokerRelay.broadcast(TOPIC, Map.of("remove", userId));
+    }
+
+    @EventListener
+    public void onRelayed(RelayedEvent event) {
+        if (!TOPIC.equals(event.topic())) {
+            return;
+        }
+        JsonNode change = event.payload();
+        if (change.has("index")) {
+            JsonNode summary = change.get("index");
+            put(new AuthorSummary(summary.path("id").asLong(), text(summary, "firstName"), text(summary, "lastName"),
+                    text(summary, "position"), text(summary, "company"), text(summary, "location"),
+                    text(summary, "profilePicture")));
+        } else if (change.has("remove")) {
+            drop(change.get("remove").asLong());
+        }
+    }
+
+    private Set<Long> indexAll() {
+        Set<Long> indexed = new HashSet<>();
+        long afterId = 0;
+        List<AuthorSummary> page;
+        do {
+            page = userRepository.findSummariesAfter(afterId, Limit.of(BUILD_PAGE_SIZE));
+            for (AuthorSummary summary : page) {
+                put(summary);
+                indexed.add(summary.id());
+                afterId = summary.id();
+            }
+        } while (page.size() == BUILD_PAGE_SIZE);
+        return indexed;
+    }
+
+    private synchronized void put(AuthorSummary summary) {
+        drop(summary.id());
+        List<String> words = new ArrayList<>();
+        for (String field : new String[]{summary.firstName(), summary.lastName(), summary.company(), summary.position()}) {
+            words.addAll(words(field));
+        }
+        IndexedUser indexed = new IndexedUser(summary, List.copyOf(new LinkedHashSet<>(words)));
+        for (String word : indexed.words()) {
+            wordKeys.add(key(word, summary.id()));
+        }
+        addToFacet(usersByCompany, summary.company(), summary.id());
+        addToFacet(usersByLocation, summary.location(), summary.id());
+        users.put(summary.id(), indexed);
+    }
+
+    private synchronized void drop(Long userId) {
+        IndexedUser indexed = users.remove(userId);
+        if (indexed == null) {
+            return;
+        }
+        for (String word : indexed.words()) {
+            wordKeys.remove(key(word, userId));
+        }
+        removeFromFacet(usersByCompany, indexed.summary().company(), userId);
+        removeFromFacet(usersByLocation, indexed.summary().location(), userId);
+    }
+
+    /**
+     * People whose words start with every word of {@code prefix}, optionally restricted to an exact
+     * company and/or location. At most {@code limit} people are returned; facets are counted over
+     * the first {@code search.people.scan-limit} matches.
+     */
+    public PeopleSearchResult search(String prefix, String company, String location, int limit) {
+        List<String> prefixes = words(prefix);
+        Set<Long> companyUsers = facetMembers(usersByCompany, company);
+        Set<Long> locationUsers = facetMembers(usersByLocation, location);
+
+        if (prefixes.isEmpty() && companyUsers == null && locationUsers == null) {
+            return new PeopleSearchResult(List.of(), facetCounts(usersByCompany), facetCounts(usersByLocation));
+        }
+
+        Collection<Long> candidates;
+        if (!prefixes.isEmpty()) {
+            candidates = prefixMatches(prefixes.get(0));
+        } else if (companyUsers != null && (locationUsers == null || companyUsers.size() <= locationUsers.size())) {
+            candidates = companyUsers;
+        } else {
+            candidates = locationUsers;
+        }
+
+        List<AuthorSummary> people = new ArrayList<>(limit);
+        Map<String, Long> companies = new HashMap<>();
+        Map<String, Long> locations = new HashMap<>();
+        int scanned = 0;
+        for (Long userId : candidates) {
+            if (scanned >= scanLimit) {
+                break;
+            }
+            IndexedUser indexed = users.get(userId);
+            if (indexed == null
+                    || (companyUsers != null && !companyUsers.contains(userId))
+                    || (locationUsers != null && !locationUsers.contains(userId))
+                    || !indexed.matchesAll(prefixes)) {
+                continue;
+            }
+            scanned++;
+            if (people.size() < limit) {
+                people.add(indexed.summary());
+            }
+            if (indexed.summary().company() != null) {
+                companies.merge(indexed.summary().company(), 1L, Long::sum);
+            }
+            if (indexed.summary().location() != null) {
+                locations.merge(indexed.summary().location(), 1L, Long::sum);
+            }
+        }
+        return new PeopleSearchResult(people, companies, locations);
+    }
+
+    // Distinct ids of users having a word that starts with the prefix, in word order
+    private Collection<Long> prefixMatches(String prefix) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (String key : wordKeys.subSet(prefix, true, prefix + Character.MAX_VALUE, true)) {
+            ids.add(Long.parseLong(key.substring(key.lastIndexOf(SEPARATOR) + 1)));
+            if (ids.size() >= scanLimit) {
+                break;
+            }
+        }
+        return ids;
+    }
+
+    private static Set<Long> facetMembers(Map<String, Set<Long>> facet, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return facet.getOrDefault(value.trim(), Set.of());
+    }
+
+    private static Map<String, Long> facetCounts(Map<String, Set<Long>> facet) {
+        Map<String, Long> counts = new HashMap<>();
+        facet.forEach((value, members) -> counts.put(value, (long) members.size()));
+        return counts;
+    }
+
+    private static void addToFacet(Map<String, Set<Long>> facet, String value, Long userId) {
+        if (value != null && !value.isBlank()) {
+            facet.computeIfAbsent(value.trim(), v -> ConcurrentHashMap.newKeySet()).add(userId);
+        }
+    }
+
+    private static void removeFromFacet(Map<String, Set<Long>> facet, String value, Long userId) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        facet.computeIfPresent(value.trim(), (v, members) -> {
+            members.remove(userId);
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    private static String key(String word, Long userId) {
+        return word + SEPARATOR + userId;
+    }
+
+    // Lower-cased, accent-free words: "Zoë Ángel-Smith" -> [zoe, angel, smith]
+    private static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        List<String> words = new ArrayList<>();
+        for (String word : WORD_SPLIT.split(folded)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private record IndexedUser(AuthorSummary summary, List<String> words) {
+        boolean matchesAll(List<String> prefixes) {
+            for (String prefix : prefixes) {
+                if (words.stream().noneMatch(word -> word.startsWith(prefix))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
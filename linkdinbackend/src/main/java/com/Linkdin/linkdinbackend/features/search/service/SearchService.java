@@ -0,0 +1,61 @@
+package com.Linkdin.linkdinbackend.features.search.service;
+
+import com.Linkdin.linkdinbackend.features.feed.dto.CursorPage;
+import com.Linkdin.linkdinbackend.features.feed.dto.PostView;
+import com.Linkdin.linkdinbackend.features.feed.model.Post;
+import com.Linkdin.linkdinbackend.features.feed.service.FeedService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.search.engine.search.common.BooleanOperator;
+import org.hibernate.search.mapper.orm.Search;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class SearchService {
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private final FeedService feedService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public SearchService(FeedService feedService) {
+        this.feedService = feedService;
+    }
+
+    /**
+     * Full-text search over post content and author names, best matches first. Only ids come back from
+     * Lucene; the posts themselves are read through the post cache. The cursor is the offset of the next page.
+     */
+    public CursorPage<PostView> searchPosts(String query, String cursor, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        int offset;
+        try {
+            offset = cursor == null ? 0 : Integer.parseInt(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        List<Long> ids = Search.session(entityManager).search(Post.class)
+                .select(f -> f.id(Long.class))
+                .where(f -> f.simpleQueryString()
+                        .field("content").boost(2.0f)
+                        .field("author.firstName")
+                        .field("author.lastName")
+                        .matching(query)
+                        .defaultOperator(BooleanOperator.AND))
+                .fetchHits(offset, size + 1);
+
+        String nextCursor = ids.size() > size ? String.valueOf(offset + size) : null;
+        List<PostView> posts = feedService.getPostsByIds(ids.size() > size ? ids.subList(0, size) : ids);
+        return new CursorPage<>(posts, nextCursor);
+    }
+}
@@ -0,0 +1,165 @@
+package com.Linkdin.linkdinbackend.features.storage.controller;
+
+import com.Linkdin.linkdinbackend.features.storage.dto.PictureRenditions;
+import com.Linkdin.linkdinbackend.features.storage.dto.UploadResult;
+import com.Linkdin.linkdinbackend.features.storage.model.Rendition;
+import com.Linkdin.linkdinbackend.features.storage.service.StorageService;
+import com.Linkdin.linkdinbackend.features.storage.service.ThumbnailService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/v1/storage")
+public class StorageController {
+    // Names are content hashes, so what a URL points to can never change
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+    // A rendition URL answered with the original must be asked again once the rendition exists
+    private static final String PENDING_RENDITION_CACHE_CONTROL = "public, max-age=60";
+    // Tomcat's sendfile contract: the connector streams the file straight from the page cache to the socket
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final StorageService storageService;
+    private final ThumbnailService thumbnailService;
+
+    public StorageController(StorageService storageService, ThumbnailService thumbnailService) {
+        this.storageService = storageService;
+        this.thumbnailService = thumbnailService;
+    }
+
+    @PostMapping
+    public ResponseEntity<UploadResult> upload(@RequestParam("file") MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("File is empty");
+        }
+        String name;
+        try (InputStream content = file.getInputStream()) {
+            name = storageService.store(content, file.getContentType());
+        }
+        // Renditions are produced in the background; their URLs serve the original until then
+        thumbnailService.submit(name);
+        String url = StorageService.BASE_URL + name;
+        return ResponseEntity.status(HttpStatus.CREATED).body(new UploadResult(name, url, PictureRenditions.of(url)));
+    }
+
+    @GetMapping("/{name}")
+    public void download(@PathVariable String name, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<Path> file = storageService.resolve(name);
+        if (file.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        serve(file.get(), StorageService.contentTypeOf(name), StorageService.hashOf(name), CACHE_CONTROL, request, response);
+    }
+
+    @GetMapping("/{name}/{rendition}")
+    public void downloadRendition(@PathVariable String name, @PathVariable("rendition") String renditionPath,
+                                  HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<Path> original = storageService.resolve(name);
+        Optional<Rendition> rendition = Rendition.fromPath(renditionPath);
+        if (original.isEmpty() || rendition.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Optional<Path> file = storageService.resolveRendition(name, rendition.get());
+        if (file.isPresent()) {
+            String fileName = StorageService.renditionName(name, rendition.get());
+            serve(file.get(), StorageService.contentTypeOf(fileName), StorageService.hashOf(name) + "-" + rendition.get().getPath(),
+                    CACHE_CONTROL, request, response);
+            return;
+        }
+        // Not rendered yet, or dropped under load: ask again and fall back to the original meanwhile
+        thumbnailService.submit(name);
+        serve(original.get(), StorageService.contentTypeOf(name), StorageService.hashOf(name), PENDING_RENDITION_CACHE_CONTROL, request, response);
+    }
+
+    private void serve(Path path, String contentType, String etag, String cacheControl,
+                       HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified("\"" + etag + "\"")) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            long start = 0;
+            long end = length - 1;
+            List<HttpRange> ranges = parseRanges(request.getHeader(HttpHeaders.RANGE));
+            // Multiple ranges would need a multipart/byteranges body; the whole file is served instead, which RFC 9110 allows
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+                if (length == 0 || !isSatisfiable(range, length)) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+            long count = end - start + 1;
+            response.setContentType(contentType);
+            response.setContentLengthLong(count);
+            if ("HEAD".equalsIgnoreCase(request.getMethod()) || count == 0) {
+                return;
+            }
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                request.setAttribute(SENDFILE_FILENAME, path.toString());
+                request.setAttribute(SENDFILE_START, start);
+                request.setAttribute(SENDFILE_END, end + 1);
+                return;
+            }
+            // Without sendfile the bytes still go through transferTo in chunks, never as one heap array
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                long transferred = channel.transferTo(position, end + 1 - position, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    private static List<HttpRange> parseRanges(String header) {
+        try {
+            return HttpRange.parseRanges(header);
+        } catch (IllegalArgumentException e) {
+            // A malformed Range header is ignored rather than rejected
+            return List.of();
+        }
+    }
+
+    private static boolean isSatisfiable(HttpRange range, long length) {
+        try {
+            range.getRangeStart(length);
+            range.getRangeEnd(length);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
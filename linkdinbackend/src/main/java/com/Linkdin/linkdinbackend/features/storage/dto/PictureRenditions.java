@@ -0,0 +1,21 @@
+package com.Linkdin.linkdinbackend.features.storage.dto;
+
+import com.Linkdin.linkdinbackend.features.storage.model.Rendition;
+import com.Linkdin.linkdinbackend.features.storage.service.StorageService;
+
+/**
+ * URLs of the renditions of a picture. Derived from the picture URL alone, so it needs no column and no
+ * lookup: a rendition URL is valid as soon as the original is stored and serves the original until the
+ * resized file has been generated. Pictures hosted elsewhere get their own URL for every size.
+ */
+public record PictureRenditions(String avatar, String feed, String full) {
+    public static PictureRenditions of(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        if (!url.startsWith(StorageService.BASE_URL) || !StorageService.isRenderable(url.substring(StorageService.BASE_URL.length()))) {
+            return new PictureRenditions(url, url, url);
+        }
+        return new PictureRenditions(url + "/" + Rendition.AVATAR.getPath(), url + "/" + Rendition.FEED.getPath(), url);
+    }
+}
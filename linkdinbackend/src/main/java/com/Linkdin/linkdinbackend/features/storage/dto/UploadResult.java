@@ -0,0 +1,4 @@
+package com.Linkdin.linkdinbackend.features.storage.dto;
+
+public record UploadResult(String name, String url, PictureRenditions renditions) {
+}
@@ -0,0 +1,40 @@
+package com.Linkdin.linkdinbackend.features.storage.model;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Downscaled variants generated for every stored image. The original itself is the "full" rendition.
+ */
+public enum Rendition {
+    // Square crop for profile pictures next to posts, comments and notifications
+    AVATAR("avatar", 128, true),
+    // Width of a post picture in the feed column
+    FEED("feed", 720, false);
+
+    private final String path;
+    private final int size;
+    private final boolean square;
+
+    Rendition(String path, int size, boolean square) {
+        this.path = path;
+        this.size = size;
+        this.square = square;
+    }
+
+    public static Optional<Rendition> fromPath(String path) {
+        return Arrays.stream(values()).filter(rendition -> rendition.path.equals(path)).findFirst();
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isSquare() {
+        return square;
+    }
+}
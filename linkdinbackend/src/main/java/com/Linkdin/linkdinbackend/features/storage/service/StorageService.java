@@ -0,0 +1,147 @@
+package com.Linkdin.linkdinbackend.features.storage.service;
+
+import com.Linkdin.linkdinbackend.features.storage.model.Rendition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Local filesystem storage for uploaded images.
+ * <p>
+ * Files are content-addressed: the name is the SHA-256 of the bytes plus an extension, stored under a
+ * two-character fan-out directory ({@code ab/abcdef....png}). The same image uploaded twice is stored once,
+ * and a name always denotes the same bytes, which is what makes the immutable cache headers and
+ * hash ETags of the download endpoint safe. Uploads are streamed to a temporary file while hashed and
+ * then moved into place, so no upload is ever held in memory.
+ * <p>
+ * Renditions are stored next to their original as {@code <hash>-<rendition>.<ext>}; they are derived
+ * from content that never changes, so they never change either.
+ */
+@Service
+public class StorageService {
+    public static final String BASE_URL = "/api/v1/storage/";
+    public static final Map<String, String> EXTENSIONS = Map.of(
+            "image/jpeg", "jpg",
+            "image/png", "png",
+            "image/gif", "gif",
+            "image/webp", "webp");
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "jpg", "image/jpeg",
+            "png", "image/png",
+            "gif", "image/gif",
+            "webp", "image/webp");
+    private static final Pattern FILE_NAME = Pattern.compile("[0-9a-f]{64}\\.(jpg|png|gif|webp)");
+    // Formats the JDK can decode; webp originals are served as they are for every rendition
+    private static final Pattern RENDERABLE = Pattern.compile("[0-9a-f]{64}\\.(jpg|png|gif)");
+
+    private final Path root;
+
+    public StorageService(@Value("${storage.location:./data/storage}") String location) {
+        this.root = Path.of(location).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(root.resolve("tmp"));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create storage directory " + root, e);
+        }
+    }
+
+    // Returns the file name the content is stored under
+    public String store(InputStream content, String contentType) throws IOException {
+        String extension = contentType == null ? null : EXTENSIONS.get(contentType.toLowerCase());
+        if (extension == null) {
+            throw new IllegalArgumentException("Unsupported file type. Allowed: " + String.join(", ", EXTENSIONS.keySet()));
+        }
+        Path temporary = Files.createTempFile(root.resolve("tmp"), "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(content, digest)) {
+                Files.copy(in, temporary, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String name = HexFormat.of().formatHex(digest.digest()) + "." + extension;
+            Path target = pathOf(name);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return name;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    // Empty for names that are not ours (including any attempt at path traversal) or files that do not exist
+    public Optional<Path> resolve(String name) {
+        if (name == null || !FILE_NAME.matcher(name).matches()) {
+            return Optional.empty();
+        }
+        Path path = pathOf(name);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    public Optional<Path> resolveRendition(String name, Rendition rendition) {
+        Path path = pathOf(renditionName(name, rendition));
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    // Writes a rendition through a temporary file, so a half-written rendition is never served
+    public void storeRendition(String name, Rendition rendition, RenditionWriter writer) throws IOException {
+        Path temporary = Files.createTempFile(root.resolve("tmp"), "rendition-", ".part");
+        try {
+            try (OutputStream out = Files.newOutputStream(temporary)) {
+                writer.write(out);
+            }
+            Files.move(temporary, pathOf(renditionName(name, rendition)), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    public static boolean isRenderable(String name) {
+        return name != null && RENDERABLE.matcher(name).matches();
+    }
+
+    // PNG keeps its transparency, everything else is re-encoded as JPEG
+    public static String renditionName(String name, Rendition rendition) {
+        return hashOf(name) + "-" + rendition.getPath() + (name.endsWith(".png") ? ".png" : ".jpg");
+    }
+
+    public static String contentTypeOf(String name) {
+        return CONTENT_TYPES.getOrDefault(name.substring(name.lastIndexOf('.') + 1), "application/octet-stream");
+    }
+
+    // The hash part of a stored name
+    public static String hashOf(String name) {
+        return name.substring(0, name.indexOf('.'));
+    }
+
+    private Path pathOf(String name) {
+        return root.resolve(name.substring(0, 2)).resolve(name);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @FunctionalInterface
+    public interface RenditionWriter {
+        void write(OutputStream out) throws IOException;
+    }
+}
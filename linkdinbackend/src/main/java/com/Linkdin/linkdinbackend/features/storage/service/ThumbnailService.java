@@ -0,0 +1,220 @@
+package com.Linkdin.linkdinbackend.features.storage.service;
+
+import com.Linkdin.linkdinbackend.features.storage.model.Rendition;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates the {@link Rendition}s of stored images in the background.
+ * <p>
+ * Work runs on a fixed pool with a bounded queue. When the queue is full the image is not queued at all:
+ * nobody waits on this pool, rendition URLs serve the original until the resized file exists, and the
+ * next request for a missing rendition submits the image again. Overload therefore costs bandwidth for a
+ * while instead of memory or upload latency.
+ */
+@Service
+public class ThumbnailService {
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailService.class);
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final StorageService storageService;
+    private final long maxPixels;
+    private final ThreadPoolExecutor executor;
+    // Images queued or being rendered, so repeated requests for a missing rendition queue it only once
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    private final Counter rendered;
+    private final Counter dropped;
+    private final Counter failed;
+
+    public ThumbnailService(StorageService storageService, MeterRegistry meterRegistry,
+                            @Value("${storage.thumbnails.threads:2}") int threads,
+                            @Value("${storage.thumbnails.queue-capacity:100}") int queueCapacity,
+                            @Value("${storage.thumbnails.max-pixels:40000000}") long maxPixels) {
+        this.storageService = storageService;
+        this.maxPixels = maxPixels;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnails-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.rendered = meterRegistry.counter("storage.thumbnails", "result", "rendered");
+        this.dropped = meterRegistry.counter("storage.thumbnails", "result", "dropped");
+        this.failed = meterRegistry.counter("storage.thumbnails", "result", "failed");
+        Gauge.builder("storage.thumbnails.queue", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+    }
+
+    // Never blocks: the image is either queued or dropped
+    public void submit(String name) {
+        if (!StorageService.isRenderable(name) || !pending.add(name)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    render(name);
+                } finally {
+                    pending.remove(name);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(name);
+            dropped.increment();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void render(String name) {
+        Optional<Path> original = storageService.resolve(name);
+        if (original.isEmpty()) {
+            return;
+        }
+        try {
+            BufferedImage source = null;
+            for (Rendition rendition : Rendition.values()) {
+                if (storageService.resolveRendition(name, rendition).isPresent()) {
+                    continue;
+                }
+                if (source == null) {
+                    source = read(original.get());
+                    if (source == null) {
+                        failed.increment();
+                        return;
+                    }
+                }
+                BufferedImage image = resize(source, rendition, name.endsWith(".png"));
+                storageService.storeRendition(name, rendition, out -> write(image, name.endsWith(".png"), out));
+                rendered.increment();
+            }
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            log.warn("Could not render thumbnails of {}", name, e);
+        }
+    }
+
+    // Decodes the image, skipping source pixels when it is much larger than the biggest rendition needs
+    private BufferedImage read(Path path) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(path.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    log.warn("Not rendering {}: {}x{} is above storage.thumbnails.max-pixels", path.getFileName(), width, height);
+                    return null;
+                }
+                // Keep at least twice the largest target size on the short side so the final resize still has pixels to filter
+                int largest = 2 * Arrays.stream(Rendition.values()).mapToInt(Rendition::getSize).max().orElse(1);
+                int step = Math.max(1, Math.min(width, height) / largest);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage resize(BufferedImage source, Rendition rendition, boolean keepAlpha) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        int size = rendition.getSize();
+        int targetWidth;
+        int targetHeight;
+        int drawWidth;
+        int drawHeight;
+        if (rendition.isSquare()) {
+            // Cover the square, then center-crop the overflow
+            double scale = Math.min(1.0, Math.max((double) size / width, (double) size / height));
+            drawWidth = (int) Math.round(width * scale);
+            drawHeight = (int) Math.round(height * scale);
+            targetWidth = Math.min(size, drawWidth);
+            targetHeight = Math.min(size, drawHeight);
+        } else {
+            double scale = Math.min(1.0, (double) size / width);
+            drawWidth = Math.max(1, (int) Math.round(width * scale));
+            drawHeight = Math.max(1, (int) Math.round(height * scale));
+            targetWidth = drawWidth;
+            targetHeight = drawHeight;
+        }
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight,
+                keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            if (!keepAlpha) {
+                // JPEG has no alpha: transparent GIF pixels become white rather than black
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, targetWidth, targetHeight);
+            }
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, (targetWidth - drawWidth) / 2, (targetHeight - drawHeight) / 2, drawWidth, drawHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static void write(BufferedImage image, boolean png, OutputStream out) throws IOException {
+        if (png) {
+            ImageIO.write(image, "png", out);
+            return;
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
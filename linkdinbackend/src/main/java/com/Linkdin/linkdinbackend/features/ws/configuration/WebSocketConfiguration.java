@@ -1,15 +1,29 @@
 package com.Linkdin.linkdinbackend.features.ws.configuration;
 
+import com.Linkdin.linkdinbackend.features.ws.service.OutboundBackpressure;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfiguration  implements WebSocketMessageBrokerConfigurer {
+    private final OutboundBackpressure outboundBackpressure;
+    private final int sendTimeLimit;
+    private final int sendBufferSizeLimit;
+
+    public WebSocketConfiguration(OutboundBackpressure outboundBackpressure,
+                                  @Value("${ws.outbound.send-time-limit-ms:15000}") int sendTimeLimit,
+                                  @Value("${ws.outbound.send-buffer-size-limit:524288}") int sendBufferSizeLimit) {
+        this.outboundBackpressure = outboundBackpressure;
+        this.sendTimeLimit = sendTimeLimit;
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+    }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
@@ -21,4 +35,12 @@ public class WebSocketConfiguration  implements WebSocketMessageBrokerConfigurer
         registry.enableSimpleBroker("/topic");
         registry.setApplicationDestinationPrefixes("/app");
     }
+
+    // Spring's own per-session buffer only backs up OutboundBackpressure's queues, which never block it
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimit)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .addDecoratorFactory(outboundBackpressure::decorate);
+    }
 }
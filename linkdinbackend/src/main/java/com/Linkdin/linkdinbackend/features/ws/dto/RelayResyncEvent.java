@@ -0,0 +1,8 @@
+package com.Linkdin.linkdinbackend.features.ws.dto;
+
+/**
+ * Published when this node's relay listener reconnected: any {@link RelayedEvent} sent meanwhile was missed,
+ * so state kept in step by those events has to be reloaded.
+ */
+public record RelayResyncEvent() {
+}
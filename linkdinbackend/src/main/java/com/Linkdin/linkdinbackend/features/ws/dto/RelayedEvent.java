@@ -0,0 +1,10 @@
+package com.Linkdin.linkdinbackend.features.ws.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A change another node broadcast through its {@code BrokerRelay}, published as an application event on
+ * every other node. Listeners pick their own topic and read the payload as JSON.
+ */
+public record RelayedEvent(String topic, JsonNode payload) {
+}
@@ -0,0 +1,38 @@
+package com.Linkdin.linkdinbackend.features.ws.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Body of a relayed message too large for a NOTIFY payload. The notification only carries the id;
+ * rows are written and read with plain SQL by PostgresBrokerRelay and expire after a few minutes.
+ */
+@Entity
+@Table(name = "ws_relay_payloads", indexes = {
+        @Index(name = "idx_ws_relay_payloads_creation_date", columnList = "creation_date")
+})
+public class RelayPayload {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(nullable = false, columnDefinition = "text")
+    private String body;
+    @Column(nullable = false)
+    private LocalDateTime creationDate;
+
+    public RelayPayload() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public LocalDateTime getCreationDate() {
+        return creationDate;
+    }
+}
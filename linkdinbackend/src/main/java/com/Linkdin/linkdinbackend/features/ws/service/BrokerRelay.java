@@ -0,0 +1,27 @@
+package com.Linkdin.linkdinbackend.features.ws.service;
+
+/**
+ * Sends a STOMP message to the subscribers of a destination, wherever in the cluster they are connected.
+ * Each node's simple broker only knows its own sessions; implementations decide how other nodes hear about
+ * the message. Selected with {@code ws.relay.mode}.
+ * <p>
+ * A message is serialized at most once, and only if some session (on any node) is subscribed to its
+ * destination; the same bytes then go to every subscriber.
+ * <p>
+ * Published inside a transaction, a message is only delivered once that transaction commits, and never if
+ * it rolls back. Publish from the transaction itself, not from an afterCommit callback: synchronizations
+ * registered while the commit callbacks run are never called.
+ */
+public interface BrokerRelay {
+    // Lets callers skip building a payload that would be dropped anyway
+    boolean hasSubscribers(String destination);
+
+    void publish(String destination, Object payload);
+
+    /**
+     * Hands {@code payload} to every other node, where it is published as a
+     * {@link com.Linkdin.linkdinbackend.features.ws.dto.RelayedEvent} under {@code topic}. Nodes use it to keep
+     * their in-memory state in step; this node applies its own changes directly. Same timing as {@link #publish}.
+     */
+    void broadcast(String topic, Object payload);
+}
@@ -0,0 +1,48 @@
+package com.Linkdin.linkdinbackend.features.ws.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Single-node deployments: the local simple broker is the whole audience
+@Service
+@ConditionalOnProperty(name = "ws.relay.mode", havingValue = "local", matchIfMissing = true)
+public class LocalBrokerRelay implements BrokerRelay {
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SubscriptionRegistry subscriptionRegistry;
+
+    public LocalBrokerRelay(SimpMessagingTemplate messagingTemplate, SubscriptionRegistry subscriptionRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.subscriptionRegistry = subscriptionRegistry;
+    }
+
+    @Override
+    public boolean hasSubscribers(String destination) {
+        return subscriptionRegistry.hasSubscribers(destination);
+    }
+
+    // The converter serializes once; the broker hands that one byte[] to every subscribed session
+    @Override
+    public void publish(String destination, Object payload) {
+        if (!hasSubscribers(destination)) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            messagingTemplate.convertAndSend(destination, payload);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                messagingTemplate.convertAndSend(destination, payload);
+            }
+        });
+    }
+
+    // There is no other node to tell
+    @Override
+    public void broadcast(String topic, Object payload) {
+    }
+}
@@ -0,0 +1,311 @@
+package com.Linkdin.linkdinbackend.features.ws.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounds what the server holds in memory for each WebSocket session.
+ * <p>
+ * Every session gets its own outbound queue, limited to {@code ws.outbound.max-messages} frames and
+ * {@code ws.outbound.max-bytes}. Broker threads only enqueue, so a slow client never holds them up; a small
+ * writer pool drains each queue, one write at a time per session.
+ * <ul>
+ *     <li>Conflation: frames for destinations under {@code ws.outbound.conflated-prefixes} (like counts by
+ *     default) replace the frame still queued for the same subscription, so a client that falls behind
+ *     gets the latest count instead of every step in between.</li>
+ *     <li>Overflow: a full queue drops its oldest frames ({@code DROP}) or closes the session
+ *     ({@code DISCONNECT}), per {@code ws.outbound.overflow-policy}.</li>
+ *     <li>Lag: a session whose oldest queued frame has waited longer than {@code ws.outbound.max-lag-ms}
+ *     is closed whatever the policy; the client reconnects and reloads what it shows. This is checked on
+ *     every send and by a sweep every {@code ws.outbound.sweep-ms}, so a session that stops receiving
+ *     frames is still closed.</li>
+ * </ul>
+ * Memory is therefore bounded by sessions times the per-session limits, however many messages a viral post
+ * fans out. Queue depths and drops are exported as metrics across all sessions rather than per session id;
+ * the distribution summaries {@code ws.outbound.session.queued} (depth on every enqueue) and
+ * {@code ws.outbound.session.lag} (age of the oldest frame, per session at every sweep) show how individual
+ * sessions are doing without a meter per session.
+ */
+@Component
+public class OutboundBackpressure {
+    private static final Logger log = LoggerFactory.getLogger(OutboundBackpressure.class);
+
+    public enum OverflowPolicy { DROP, DISCONNECT }
+
+    private final Map<String, OutboundQueue> queues = new ConcurrentHashMap<>();
+    private final ExecutorService writers;
+    private final int maxMessages;
+    private final int maxBytes;
+    private final long maxLagMillis;
+    private final OverflowPolicy overflowPolicy;
+    private final List<String> conflatedPrefixes;
+
+    private final Counter conflated;
+    private final Counter dropped;
+    private final Counter overflowDisconnects;
+    private final Counter lagDisconnects;
+    private final DistributionSummary sessionQueued;
+    private final DistributionSummary sessionLag;
+
+    public OutboundBackpressure(MeterRegistry meterRegistry,
+                                @Value("${ws.outbound.writer-threads:8}") int writerThreads,
+                                @Value("${ws.outbound.max-messages:100}") int maxMessages,
+                                @Value("${ws.outbound.max-bytes:262144}") int maxBytes,
+                                @Value("${ws.outbound.max-lag-ms:10000}") long maxLagMillis,
+                                @Value("${ws.outbound.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+                                @Value("${ws.outbound.conflated-prefixes:/topic/likes/}") List<String> conflatedPrefixes) {
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+        this.maxLagMillis = maxLagMillis;
+        this.overflowPolicy = overflowPolicy;
+        this.conflatedPrefixes = List.copyOf(conflatedPrefixes);
+        AtomicInteger threadCount = new AtomicInteger();
+        // At most one drain task per session is ever queued, so the task queue is bounded by the session count
+        this.writers = Executors.newFixedThreadPool(writerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "ws-writer-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.conflated = meterRegistry.counter("ws.outbound.frames", "result", "conflated");
+        this.dropped = meterRegistry.counter("ws.outbound.frames", "result", "dropped");
+        this.overflowDisconnects = meterRegistry.counter("ws.outbound.disconnects", "reason", "overflow");
+        this.lagDisconnects = meterRegistry.counter("ws.outbound.disconnects", "reason", "lag");
+        this.sessionQueued = DistributionSummary.builder("ws.outbound.session.queued")
+                .description("Frames waiting in a session queue, recorded on every enqueue")
+                .baseUnit("frames")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.sessionLag = DistributionSummary.builder("ws.outbound.session.lag")
+                .description("Age of the oldest frame waiting in a session queue, recorded per session at every sweep")
+                .baseUnit("milliseconds")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("ws.outbound.sessions", queues, Map::size).register(meterRegistry);
+        Gauge.builder("ws.outbound.queued", queues, all -> all.values().stream().mapToInt(OutboundQueue::depth).sum())
+                .description("Frames waiting in all session queues")
+                .register(meterRegistry);
+        Gauge.builder("ws.outbound.queued.max", queues, all -> all.values().stream().mapToInt(OutboundQueue::depth).max().orElse(0))
+                .description("Frames waiting in the fullest session queue")
+                .register(meterRegistry);
+    }
+
+    // Registered as a decorator factory, so it sees every session before the STOMP handler does
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                OutboundQueue queue = new OutboundQueue(session);
+                queues.put(session.getId(), queue);
+                super.afterConnectionEstablished(queue);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                OutboundQueue queue = queues.remove(session.getId());
+                if (queue != null) {
+                    queue.discard();
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    // Without it a client that stops reading right after a burst keeps its queue until the next frame for it
+    @Scheduled(fixedDelayString = "${ws.outbound.sweep-ms:1000}")
+    public void closeLaggingSessions() {
+        long now = System.currentTimeMillis();
+        for (OutboundQueue queue : queues.values()) {
+            queue.closeIfLagging(now);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdownNow();
+    }
+
+    private final class OutboundQueue extends WebSocketSessionDecorator {
+        // Insertion ordered; a conflated frame takes over the slot (and age) of the one it replaces
+        private final LinkedHashMap<Object, Pending> pending = new LinkedHashMap<>();
+        private long sequence;
+        private int bytes;
+        private boolean draining;
+        private boolean discarded;
+
+        OutboundQueue(WebSocketSession delegate) {
+            super(delegate);
+        }
+
+        synchronized int depth() {
+            return pending.size();
+        }
+
+        synchronized void discard() {
+            discarded = true;
+            pending.clear();
+            bytes = 0;
+        }
+
+        // Milliseconds the oldest queued frame has waited, 0 when nothing is queued
+        private long lag(long now) {
+            Map.Entry<Object, Pending> oldest = pending.firstEntry();
+            return oldest == null ? 0 : now - oldest.getValue().enqueuedAt();
+        }
+
+        void closeIfLagging(long now) {
+            synchronized (this) {
+                if (discarded) {
+                    return;
+                }
+                long lag = lag(now);
+                sessionLag.record(lag);
+                if (lag <= maxLagMillis) {
+                    return;
+                }
+                lagDisconnects.increment();
+                discard();
+            }
+            try {
+                getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException | RuntimeException e) {
+                log.debug("Failed to close lagging WebSocket session {}", getId(), e);
+            }
+        }
+
+        // Never blocks: the STOMP handler expects the send to be buffered, and the broker thread moves on
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) {
+            synchronized (this) {
+                if (discarded) {
+                    return;
+                }
+                if (lag(System.currentTimeMillis()) > maxLagMillis) {
+                    lagDisconnects.increment();
+                    discard();
+                    throw new SessionLimitExceededException("Client fell more than " + maxLagMillis + " ms behind",
+                            CloseStatus.SESSION_NOT_RELIABLE);
+                }
+
+                Object key = conflationKey(message);
+                Pending replaced = key == null ? null : pending.get(key);
+                if (replaced != null) {
+                    pending.put(key, new Pending(message, replaced.enqueuedAt()));
+                    bytes += message.getPayloadLength() - replaced.message().getPayloadLength();
+                    conflated.increment();
+                } else {
+                    pending.put(key != null ? key : sequence++, new Pending(message, System.currentTimeMillis()));
+                    bytes += message.getPayloadLength();
+                }
+
+                while (pending.size() > maxMessages || bytes > maxBytes) {
+                    if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                        overflowDisconnects.increment();
+                        discard();
+                        throw new SessionLimitExceededException("Outbound queue full", CloseStatus.SESSION_NOT_RELIABLE);
+                    }
+                    Pending removed = pending.pollFirstEntry().getValue();
+                    bytes -= removed.message().getPayloadLength();
+                    dropped.increment();
+                }
+                sessionQueued.record(pending.size());
+
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            writers.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                Pending next;
+                synchronized (this) {
+                    Map.Entry<Object, Pending> head = pending.pollFirstEntry();
+                    if (head == null || discarded) {
+                        draining = false;
+                        return;
+                    }
+                    next = head.getValue();
+                    bytes -= next.message().getPayloadLength();
+                }
+                try {
+                    getDelegate().sendMessage(next.message());
+                } catch (IOException | RuntimeException e) {
+                    log.debug("Dropping outbound queue of WebSocket session {}", getId(), e);
+                    synchronized (this) {
+                        discard();
+                        draining = false;
+                    }
+                    return;
+                }
+            }
+        }
+
+        // The subscription id of a MESSAGE frame to a conflated destination, read from the frame headers
+        private Object conflationKey(WebSocketMessage<?> message) {
+            if (!(message instanceof TextMessage text)) {
+                return null;
+            }
+            String frame = text.getPayload();
+            if (!frame.startsWith("MESSAGE\n")) {
+                return null;
+            }
+            String destination = null;
+            String subscription = null;
+            int start = frame.indexOf('\n') + 1;
+            while (start < frame.length()) {
+                int end = frame.indexOf('\n', start);
+                if (end <= start) {
+                    break;
+                }
+                String header = frame.substring(start, end);
+                if (header.startsWith("destination:")) {
+                    destination = header.substring("destination:".length());
+                } else if (header.startsWith("subscription:")) {
+                    subscription = header.substring("subscription:".length());
+                }
+                start = end + 1;
+            }
+            if (destination == null || subscription == null) {
+                return null;
+            }
+            for (String prefix : conflatedPrefixes) {
+                if (destination.startsWith(prefix)) {
+                    return "subscription:" + subscription;
+                }
+            }
+            return null;
+        }
+    }
+
+    private record Pending(WebSocketMessage<?> message, long enqueuedAt) {
+    }
+}
@@ -0,0 +1,415 @@
+package com.Linkdin.linkdinbackend.features.ws.service;
+
+import com.Linkdin.linkdinbackend.features.ws.dto.RelayResyncEvent;
+import com.Linkdin.linkdinbackend.features.ws.dto.RelayedEvent;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.MimeTypeUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relays STOMP messages between nodes through Postgres LISTEN/NOTIFY.
+ * <p>
+ * A message goes to the local broker straight away and to the other nodes as a NOTIFY on {@value #CHANNEL}
+ * carrying the sending node, the destination and the JSON payload. Payloads that would not fit in a
+ * NOTIFY (8000 bytes) are written to {@code ws_relay_payloads} and only their id is sent. Every node keeps
+ * one connection LISTENing, skips its own messages and hands the rest to its local broker, which
+ * delivers them to the sessions subscribed on that node only.
+ * <p>
+ * A message published inside a transaction goes out when that transaction commits, and not at all if it
+ * rolls back: the NOTIFY is issued in the caller's transaction, which is how Postgres delivers it anyway,
+ * and local sessions get the message from an afterCommit callback.
+ * <p>
+ * Nodes also announce on the same channel which destinations gained their first or lost their last local
+ * subscriber, so a message is only serialized if some node wants it and only relayed if another node does.
+ * A node asks the others to announce everything again whenever its listener (re)connects, and says goodbye
+ * on shutdown; a node that dies without saying goodbye only costs the others some unneeded NOTIFYs.
+ * <p>
+ * Broadcasts (changes to the feed timeline, post caches and people index) always go to every node, where
+ * they are published as {@link RelayedEvent}s. After its listener reconnects a node publishes a
+ * {@link RelayResyncEvent}, since whatever was broadcast meanwhile is lost.
+ * <p>
+ * Delivery is best effort, like the simple broker itself: a node that is down or reconnecting misses
+ * what was sent meanwhile.
+ */
+@Service
+@ConditionalOnProperty(name = "ws.relay.mode", havingValue = "postgres")
+public class PostgresBrokerRelay implements BrokerRelay {
+    private static final Logger log = LoggerFactory.getLogger(PostgresBrokerRelay.class);
+    static final String CHANNEL = "ws_relay";
+    // Postgres rejects NOTIFY payloads of 8000 bytes or more; keep some headroom
+    private static final int MAX_NOTIFY_BYTES = 7900;
+    private static final String DESTINATION_PREFIX = "/topic/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SubscriptionRegistry subscriptionRegistry;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate relayTransaction;
+    private final int payloadRetentionSeconds;
+    private final String nodeId = UUID.randomUUID().toString();
+    // destination -> ids of the other nodes with subscribers to it
+    private final Map<String, Set<String>> remoteNodesByDestination = new ConcurrentHashMap<>();
+    // One thread, so announcements leave in the order the registry reported the changes
+    private final ExecutorService presence = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ws-relay-presence");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean running;
+    private Thread listener;
+    private boolean connectedBefore;
+
+    public PostgresBrokerRelay(SimpMessagingTemplate messagingTemplate, SubscriptionRegistry subscriptionRegistry,
+                               JdbcTemplate jdbcTemplate, DataSource dataSource,
+                               ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${ws.relay.payload-retention-seconds:300}") int payloadRetentionSeconds) {
+        this.messagingTemplate = messagingTemplate;
+        this.subscriptionRegistry = subscriptionRegistry;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        // Only used when the caller has no transaction; see inRelayTransaction
+        this.relayTransaction = new TransactionTemplate(transactionManager);
+        this.payloadRetentionSeconds = payloadRetentionSeconds;
+        subscriptionRegistry.addListener((destination, active) -> announce(active ? "active" : "inactive", List.of(destination)));
+    }
+
+    @Override
+    public boolean hasSubscribers(String destination) {
+        return subscriptionRegistry.hasSubscribers(destination) || remoteNodesByDestination.containsKey(destination);
+    }
+
+    @Override
+    public void publish(String destination, Object payload) {
+        boolean local = subscriptionRegistry.hasSubscribers(destination);
+        boolean remote = remoteNodesByDestination.containsKey(destination);
+        if (!local && !remote) {
+            return;
+        }
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialize message for " + destination, e);
+        }
+        // The same bytes go to every local session and into the NOTIFY
+        if (local) {
+            afterCommit(() -> messagingTemplate.send(destination, jsonMessage(json)));
+        }
+        if (remote) {
+            relay(destination, json);
+        }
+    }
+
+    // Only the node id is added; the payload is small enough for a NOTIFY of its own
+    @Override
+    public void broadcast(String topic, Object payload) {
+        ObjectNode message = control().put("topic", topic);
+        message.set("event", objectMapper.valueToTree(payload));
+        try {
+            sendNotify(message.toString());
+        } catch (RuntimeException e) {
+            log.warn("Could not broadcast {} to other nodes", topic, e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        listener = new Thread(this::listen, "ws-relay-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+        presence.execute(() -> sendPresence(control().put("leave", true).toString()));
+        presence.shutdown();
+        try {
+            presence.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Large payloads only need to outlive the delivery to every listening node
+    @Scheduled(fixedDelayString = "${ws.relay.payload-cleanup-ms:60000}")
+    public void deleteExpiredPayloads() {
+        jdbcTemplate.update("DELETE FROM ws_relay_payloads WHERE creation_date < now() - make_interval(secs => ?)",
+                payloadRetentionSeconds);
+    }
+
+    private void relay(String destination, byte[] json) {
+        try {
+            String body = new String(json, StandardCharsets.UTF_8);
+            inRelayTransaction(() -> {
+                String notification = envelope(destination, body, null);
+                if (notification.getBytes(StandardCharsets.UTF_8).length > MAX_NOTIFY_BYTES) {
+                    Long payloadId = jdbcTemplate.queryForObject(
+                            "INSERT INTO ws_relay_payloads (body, creation_date) VALUES (?, now()) RETURNING id",
+                            Long.class, body);
+                    notification = envelope(destination, null, payloadId);
+                }
+                jdbcTemplate.query("SELECT pg_notify(?, ?)", (ResultSetExtractor<Void>) rs -> null, CHANNEL, notification);
+            });
+        } catch (RuntimeException e) {
+            // Local subscribers still get it; only other nodes miss this one
+            log.warn("Could not relay message for {} to other nodes", destination, e);
+        }
+    }
+
+    // Writes the already serialized payload as is instead of parsing it back into a tree
+    private String envelope(String destination, String body, Long payloadId) {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+            generator.writeStartObject();
+            generator.writeStringField("node", nodeId);
+            generator.writeStringField("destination", destination);
+            if (payloadId != null) {
+                generator.writeNumberField("payloadId", payloadId);
+            } else {
+                generator.writeFieldName("payload");
+                generator.writeRawValue(body);
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write relay envelope", e);
+        }
+        return writer.toString();
+    }
+
+    // Destinations are split over as many NOTIFYs as it takes to stay under the size limit
+    private void announce(String kind, Collection<String> destinations) {
+        if (presence.isShutdown()) {
+            return;
+        }
+        presence.execute(() -> {
+            ObjectNode message = null;
+            int size = 0;
+            for (String destination : destinations) {
+                if (!destination.startsWith(DESTINATION_PREFIX)) {
+                    continue;
+                }
+                if (message != null && size + destination.length() + 3 > MAX_NOTIFY_BYTES) {
+                    sendPresence(message.toString());
+                    message = null;
+                }
+                if (message == null) {
+                    message = control();
+                    message.putArray(kind);
+                    size = message.toString().length();
+                }
+                ((ArrayNode) message.get(kind)).add(destination);
+                size += destination.length() + 3;
+            }
+            if (message != null) {
+                sendPresence(message.toString());
+            }
+        });
+    }
+
+    private ObjectNode control() {
+        return objectMapper.createObjectNode().put("node", nodeId);
+    }
+
+    private void sendPresence(String notification) {
+        try {
+            sendNotify(notification);
+        } catch (RuntimeException e) {
+            log.warn("Could not send WebSocket relay presence", e);
+        }
+    }
+
+    private void sendNotify(String notification) {
+        inRelayTransaction(() ->
+                jdbcTemplate.query("SELECT pg_notify(?, ?)", (ResultSetExtractor<Void>) rs -> null, CHANNEL, notification));
+    }
+
+    // NOTIFY is transactional: sent on the caller's connection, Postgres holds it until that transaction commits
+    // and drops it on rollback, and no second pooled connection is taken while the caller holds one. The
+    // savepoint keeps a failed relay from aborting the caller's work. Without a transaction it gets its own.
+    private void inRelayTransaction(Runnable statements) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            relayTransaction.executeWithoutResult(status -> statements.run());
+            return;
+        }
+        jdbcTemplate.execute("SAVEPOINT ws_relay");
+        try {
+            statements.run();
+        } catch (RuntimeException e) {
+            jdbcTemplate.execute("ROLLBACK TO SAVEPOINT ws_relay");
+            throw e;
+        }
+        jdbcTemplate.execute("RELEASE SAVEPOINT ws_relay");
+    }
+
+    // Holds one connection for as long as the node runs, and opens a new one whenever it breaks
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("Relaying WebSocket messages as node {}", nodeId);
+                // Announcements may have been missed while disconnected: start over from what the others report
+                remoteNodesByDestination.clear();
+                presence.execute(() -> sendPresence(control().put("sync", true).toString()));
+                announce("active", subscriptionRegistry.activeDestinations());
+                // Broadcasts too, but those cannot be asked for again
+                if (connectedBefore) {
+                    eventPublisher.publishEvent(new RelayResyncEvent());
+                }
+                connectedBefore = true;
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(1000);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            deliver(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("WebSocket relay listener lost its connection; reconnecting", e);
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void deliver(String notification) {
+        try {
+            JsonNode envelope = objectMapper.readTree(notification);
+            String node = envelope.path("node").asText();
+            if (nodeId.equals(node)) {
+                return;
+            }
+            if (envelope.has("topic")) {
+                eventPublisher.publishEvent(new RelayedEvent(envelope.path("topic").asText(), envelope.path("event")));
+                return;
+            }
+            if (!envelope.has("destination")) {
+                onPresence(node, envelope);
+                return;
+            }
+            String destination = envelope.path("destination").asText();
+            if (!destination.startsWith(DESTINATION_PREFIX) || !subscriptionRegistry.hasSubscribers(destination)) {
+                return;
+            }
+            byte[] json = envelope.has("payloadId")
+                    ? loadPayload(envelope.get("payloadId").asLong())
+                    : envelope.has("payload") ? objectMapper.writeValueAsBytes(envelope.get("payload")) : null;
+            if (json != null) {
+                messagingTemplate.send(destination, jsonMessage(json));
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Dropping relayed WebSocket message", e);
+        }
+    }
+
+    private void onPresence(String node, JsonNode message) {
+        message.path("active").forEach(destination ->
+                remoteNodesByDestination.computeIfAbsent(destination.asText(), key -> ConcurrentHashMap.newKeySet()).add(node));
+        message.path("inactive").forEach(destination -> removeRemote(destination.asText(), node));
+        if (message.path("leave").asBoolean()) {
+            remoteNodesByDestination.keySet().forEach(destination -> removeRemote(destination, node));
+        }
+        if (message.path("sync").asBoolean()) {
+            announce("active", subscriptionRegistry.activeDestinations());
+        }
+    }
+
+    private void removeRemote(String destination, String node) {
+        remoteNodesByDestination.computeIfPresent(destination, (key, nodes) -> {
+            nodes.remove(node);
+            return nodes.isEmpty() ? null : nodes;
+        });
+    }
+
+    private byte[] loadPayload(long payloadId) {
+        List<String> bodies = jdbcTemplate.queryForList("SELECT body FROM ws_relay_payloads WHERE id = ?", String.class, payloadId);
+        return bodies.isEmpty() ? null : bodies.get(0).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Pre-serialized, so the converter is skipped and the broker shares this one payload between sessions
+    private static Message<byte[]> jsonMessage(byte[] json) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(json, accessor.getMessageHeaders());
+    }
+}
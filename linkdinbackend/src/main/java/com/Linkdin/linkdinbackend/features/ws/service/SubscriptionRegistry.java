@@ -0,0 +1,99 @@
+package com.Linkdin.linkdinbackend.features.ws.service;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Which destinations have subscribers on this node, maintained from the STOMP session events.
+ * <p>
+ * Publishers check it before building and serializing a message, so events for posts nobody has open and
+ * users who are offline cost nothing beyond the check. Listeners hear about a destination when it gets its
+ * first subscriber and when it loses its last one (used to tell other nodes, see PostgresBrokerRelay).
+ */
+@Component
+public class SubscriptionRegistry {
+    private final Map<String, Integer> subscribersByDestination = new ConcurrentHashMap<>();
+    // session id -> (subscription id -> destination), to undo subscriptions on unsubscribe and disconnect
+    private final Map<String, Map<String, String>> subscriptionsBySession = new ConcurrentHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public boolean hasSubscribers(String destination) {
+        return subscribersByDestination.containsKey(destination);
+    }
+
+    public Set<String> activeDestinations() {
+        return Set.copyOf(subscribersByDestination.keySet());
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String destination = accessor.getDestination();
+        if (accessor.getSessionId() == null || accessor.getSubscriptionId() == null || destination == null) {
+            return;
+        }
+        String previous = subscriptionsBySession.computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), destination);
+        if (previous != null) {
+            removeSubscriber(previous);
+        }
+        addSubscriber(destination);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> subscriptions = accessor.getSessionId() == null ? null : subscriptionsBySession.get(accessor.getSessionId());
+        if (subscriptions == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        String destination = subscriptions.remove(accessor.getSubscriptionId());
+        if (destination != null) {
+            removeSubscriber(destination);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> subscriptions = subscriptionsBySession.remove(event.getSessionId());
+        if (subscriptions != null) {
+            new HashMap<>(subscriptions).values().forEach(this::removeSubscriber);
+        }
+    }
+
+    // Transitions are serialized so listeners see "active" and "inactive" for a destination in the right order
+    private synchronized void addSubscriber(String destination) {
+        if (subscribersByDestination.merge(destination, 1, Integer::sum) == 1) {
+            listeners.forEach(listener -> listener.onDestinationChange(destination, true));
+        }
+    }
+
+    private synchronized void removeSubscriber(String destination) {
+        if (!subscribersByDestination.containsKey(destination)) {
+            return;
+        }
+        if (subscribersByDestination.computeIfPresent(destination, (key, count) -> count > 1 ? count - 1 : null) == null) {
+            listeners.forEach(listener -> listener.onDestinationChange(destination, false));
+        }
+    }
+
+    @FunctionalInterface
+    public interface Listener {
+        void onDestinationChange(String destination, boolean active);
+    }
+}
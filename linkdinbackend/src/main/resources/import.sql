@@ -0,0 +1,5 @@
+-- Run by Hibernate after it creates the schema (spring.jpa.hibernate.ddl-auto=create). One statement per line.
+-- Partial index: only unread notifications are indexed, so "mark all read" finds them without scanning read ones
+CREATE INDEX idx_notification_unread ON notification (recipient_id) WHERE is_read = false;
+-- Partial index for the retention job: old read notifications are found without walking unread or recent ones
+CREATE INDEX idx_notification_read_activity ON notification (last_activity_date) WHERE is_read = true;
@@ -0,0 +1,60 @@
+package com.Linkdin.linkdinbackend.features.feed;
+
+import com.Linkdin.linkdinbackend.features.feed.dto.FeedCursor;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FeedCursorTests {
+
+    @Test
+    void decodesWhatItEncodes() {
+        FeedCursor cursor = new FeedCursor(LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_000), 42L);
+        assertThat(FeedCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void keepsWholeSecondsAndLargeIds() {
+        FeedCursor cursor = new FeedCursor(LocalDateTime.of(2025, 1, 1, 0, 0), Long.MAX_VALUE);
+        assertThat(FeedCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void encodesUrlSafeWithoutPadding() {
+        String encoded = new FeedCursor(LocalDateTime.of(2025, 6, 1, 12, 30, 1, 1_000), 7L).encode();
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsGarbage() {
+        assertThatThrownBy(() -> FeedCursor.decode("not a cursor!"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void rejectsWellFormedBase64WithoutSeparator() {
+        assertThatThrownBy(() -> FeedCursor.decode(base64("2025-01-01T00:00")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void rejectsBadDateOrId() {
+        assertThatThrownBy(() -> FeedCursor.decode(base64("yesterday|1")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> FeedCursor.decode(base64("2025-01-01T00:00|one")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    private static String base64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
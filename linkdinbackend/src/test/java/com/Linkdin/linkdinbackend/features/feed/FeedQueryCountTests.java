@@ -0,0 +1,145 @@
+package com.Linkdin.linkdinbackend.features.feed;
+
+import com.Linkdin.linkdinbackend.features.authentication.model.AuthenticationUser;
+import com.Linkdin.linkdinbackend.features.authentication.repository.AuthenticationUserRepository;
+import com.Linkdin.linkdinbackend.features.authentication.service.AuthenticationService;
+import com.Linkdin.linkdinbackend.features.authentication.utils.JsonWebToken;
+import com.Linkdin.linkdinbackend.features.feed.model.Comment;
+import com.Linkdin.linkdinbackend.features.feed.model.Post;
+import com.Linkdin.linkdinbackend.features.feed.repository.CommentRepository;
+import com.Linkdin.linkdinbackend.features.feed.repository.PostRepository;
+import com.Linkdin.linkdinbackend.features.notifications.model.Notification;
+import com.Linkdin.linkdinbackend.features.notifications.model.NotificationType;
+import com.Linkdin.linkdinbackend.features.notifications.repository.NotificationRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the list endpoints against N+1 regressions: each request must run a small, fixed number of
+ * SQL statements no matter how many distinct authors the returned rows have.
+ * <p>
+ * Every test builds its own users, post, likes, comments and notifications and deletes them afterwards
+ * (through deleteUser, so the in-memory timeline and caches forget them too); the seed data is not loaded.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "database.seed=false"
+})
+@AutoConfigureMockMvc
+class FeedQueryCountTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JsonWebToken jsonWebToken;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private AuthenticationUserRepository userRepository;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private NotificationRepository notificationRepository;
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    private Statistics statistics;
+    private final List<AuthenticationUser> users = new ArrayList<>();
+    private final List<Notification> notifications = new ArrayList<>();
+    private AuthenticationUser reader;
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (int i = 0; i < 5; i++) {
+            users.add(userRepository.save(user("User" + i)));
+        }
+        reader = users.get(0);
+        post = new Post("Query count fixture", users.get(1));
+        post.setLikes(new HashSet<>(users));
+        post.setLikeCount(users.size());
+        post = postRepository.save(post);
+        // One like, comment and notification per user, so every list below spans several distinct authors
+        for (AuthenticationUser user : users) {
+            commentRepository.save(new Comment(post, user, "Comment from " + user.getFirstName()));
+            notifications.add(notificationRepository.save(new Notification(user, reader, NotificationType.COMMENT, post.getId())));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificationRepository.deleteAll(notifications);
+        // deleteUser takes the user's likes, comments and posts with them
+        for (AuthenticationUser user : users) {
+            authenticationService.deleteUser(user.getId());
+        }
+    }
+
+    @Test
+    void feedPageRunsBoundedStatements() throws Exception {
+        assertThat(statementsFor(get("/api/v1/feed"))).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void allPostsPageRunsBoundedStatements() throws Exception {
+        assertThat(statementsFor(get("/api/v1/feed/posts"))).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void userPostsPageRunsBoundedStatements() throws Exception {
+        Long authorId = post.getAuthor().getId();
+        assertThat(statementsFor(get("/api/v1/feed/posts/user/" + authorId))).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void commentsPageRunsBoundedStatements() throws Exception {
+        assertThat(statementsFor(get("/api/v1/feed/posts/" + post.getId() + "/comments"))).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void likersPageRunsBoundedStatements() throws Exception {
+        assertThat(statementsFor(get("/api/v1/feed/posts/" + post.getId() + "/likes"))).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void notificationsRunBoundedStatements() throws Exception {
+        assertThat(statementsFor(get("/api/v1/notifications"))).isLessThanOrEqualTo(2);
+    }
+
+    private static AuthenticationUser user(String firstName) {
+        AuthenticationUser user = new AuthenticationUser(UUID.randomUUID() + "@query-count.test", "unused");
+        user.setFirstName(firstName);
+        user.setLastName("Fixture");
+        return user;
+    }
+
+    // Counts every statement prepared while serving the request, including the authentication lookup
+    private long statementsFor(MockHttpServletRequestBuilder request) throws Exception {
+        String token = jsonWebToken.generateToken(reader.getEmail());
+        statistics.clear();
+        mockMvc.perform(request.header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,168 @@
+package com.Linkdin.linkdinbackend.features.feed;
+
+import com.Linkdin.linkdinbackend.features.feed.dto.TimelineEntry;
+import com.Linkdin.linkdinbackend.features.feed.repository.PostRepository;
+import com.Linkdin.linkdinbackend.features.feed.service.FeedTimeline;
+import com.Linkdin.linkdinbackend.features.ws.dto.RelayedEvent;
+import com.Linkdin.linkdinbackend.features.ws.service.BrokerRelay;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FeedTimelineTests {
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final BrokerRelay brokerRelay = mock(BrokerRelay.class);
+
+    @Test
+    void loadsOnceOnFirstRead() {
+        FeedTimeline timeline = timeline(3, entry(2, 1), entry(1, 1));
+        timeline.newest(10);
+        timeline.slice(null, null, 10);
+        verify(postRepository, times(1)).findTimelineEntries(any());
+    }
+
+    @Test
+    void pushBeforeTheFirstReadIsLeftToTheLoad() {
+        FeedTimeline timeline = timeline(3, entry(1, 1));
+        timeline.push(entry(2, 1));
+        verify(postRepository, never()).findTimelineEntries(any());
+        assertThat(ids(timeline.newest(10))).containsExactly(1L);
+    }
+
+    @Test
+    void completeRingAnswersPastItsEnd() {
+        FeedTimeline timeline = timeline(5, entry(3, 1), entry(2, 2), entry(1, 1));
+        assertThat(timeline.slice(null, null, 10)).map(FeedTimelineTests::ids).contains(List.of(3L, 2L, 1L));
+        assertThat(timeline.slice(null, entry(1, 1).cursor(), 10)).contains(List.of());
+    }
+
+    @Test
+    void incompleteRingDefersToTheDatabase() {
+        // One more row than fits: the database holds posts the ring does not
+        FeedTimeline timeline = timeline(2, entry(3, 1), entry(2, 1), entry(1, 1));
+        assertThat(timeline.slice(null, null, 2)).map(FeedTimelineTests::ids).contains(List.of(3L, 2L));
+        assertThat(timeline.slice(null, null, 3)).isEmpty();
+        assertThat(timeline.slice(null, entry(2, 1).cursor(), 1)).isEmpty();
+    }
+
+    @Test
+    void slicesAfterTheCursorAndSkipsTheReader() {
+        FeedTimeline timeline = timeline(10, entry(5, 1), entry(4, 2), entry(3, 1), entry(2, 2), entry(1, 1));
+        assertThat(timeline.slice(1L, null, 10)).map(FeedTimelineTests::ids).contains(List.of(4L, 2L));
+        assertThat(timeline.slice(2L, entry(5, 1).cursor(), 2)).map(FeedTimelineTests::ids).contains(List.of(3L, 1L));
+    }
+
+    @Test
+    void pushKeepsOrderAndIgnoresDuplicates() {
+        FeedTimeline timeline = timeline(10, entry(4, 1), entry(2, 1));
+        timeline.newest(1);
+        timeline.push(entry(3, 2));
+        timeline.push(entry(5, 2));
+        timeline.push(entry(3, 2));
+        assertThat(ids(timeline.newest(10))).containsExactly(5L, 4L, 3L, 2L);
+    }
+
+    @Test
+    void pushIntoAFullRingDropsTheOldestAndIsNoLongerComplete() {
+        FeedTimeline timeline = timeline(3, entry(3, 1), entry(2, 1), entry(1, 1));
+        assertThat(timeline.slice(null, null, 5)).isPresent();
+        timeline.push(entry(4, 1));
+        assertThat(ids(timeline.newest(10))).containsExactly(4L, 3L, 2L);
+        assertThat(timeline.slice(null, null, 5)).isEmpty();
+    }
+
+    @Test
+    void pushOlderThanEverythingInAFullRingIsDropped() {
+        FeedTimeline timeline = timeline(2, entry(3, 1), entry(2, 1));
+        timeline.newest(1);
+        timeline.push(entry(1, 1));
+        assertThat(ids(timeline.newest(10))).containsExactly(3L, 2L);
+        assertThat(timeline.slice(null, null, 3)).isEmpty();
+    }
+
+    @Test
+    void removesPostsAndAuthors() {
+        FeedTimeline timeline = timeline(10, entry(4, 1), entry(3, 2), entry(2, 1), entry(1, 2));
+        timeline.remove(3L);
+        assertThat(ids(timeline.newest(10))).containsExactly(4L, 2L, 1L);
+        timeline.removeAuthor(1L);
+        assertThat(ids(timeline.newest(10))).containsExactly(1L);
+        // Removing never makes the ring forget it was complete
+        assertThat(timeline.slice(null, null, 10)).map(FeedTimelineTests::ids).contains(List.of(1L));
+    }
+
+    @Test
+    void wrapsAroundTheRing() {
+        FeedTimeline timeline = timeline(3, entry(2, 1), entry(1, 1));
+        timeline.newest(1);
+        for (long id = 3; id <= 7; id++) {
+            timeline.push(entry(id, 1));
+        }
+        assertThat(ids(timeline.newest(10))).containsExactly(7L, 6L, 5L);
+        timeline.remove(6L);
+        assertThat(ids(timeline.newest(10))).containsExactly(7L, 5L);
+    }
+
+    @Test
+    void appliesTheChangesAnotherNodeBroadcast() {
+        FeedTimeline here = timeline(10, entry(2, 1), entry(1, 1));
+        FeedTimeline there = timeline(10, entry(2, 1), entry(1, 1));
+        here.newest(1);
+        there.newest(1);
+        TimelineEntry pushed = new TimelineEntry(3L, 2L, START.plusMinutes(3).plusNanos(123_000));
+
+        here.push(pushed);
+        here.remove(1L);
+        here.removeAuthor(7L);
+        ArgumentCaptor<String> topics = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object> payloads = ArgumentCaptor.forClass(Object.class);
+        verify(brokerRelay, times(3)).broadcast(topics.capture(), payloads.capture());
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (int i = 0; i < 3; i++) {
+            there.onRelayed(new RelayedEvent(topics.getAllValues().get(i), objectMapper.valueToTree(payloads.getAllValues().get(i))));
+        }
+
+        assertThat(there.newest(10)).containsExactly(pushed, entry(2, 1));
+        // Applying a relayed change does not send it on again
+        verify(brokerRelay, times(3)).broadcast(any(), any());
+    }
+
+    @Test
+    void reloadsAfterAResync() {
+        FeedTimeline timeline = timeline(10, entry(2, 1), entry(1, 1));
+        timeline.newest(1);
+        timeline.reload();
+        timeline.push(entry(3, 1));
+
+        assertThat(ids(timeline.newest(10))).containsExactly(2L, 1L);
+        verify(postRepository, times(2)).findTimelineEntries(any());
+    }
+
+    // Newest first, like PostRepository.findTimelineEntries
+    private FeedTimeline timeline(int capacity, TimelineEntry... newestFirst) {
+        when(postRepository.findTimelineEntries(any())).thenReturn(List.of(newestFirst));
+        return new FeedTimeline(postRepository, brokerRelay, capacity);
+    }
+
+    // Later ids are newer
+    private static TimelineEntry entry(long postId, long authorId) {
+        return new TimelineEntry(postId, authorId, START.plusMinutes(postId));
+    }
+
+    private static List<Long> ids(List<TimelineEntry> entries) {
+        return entries.stream().map(TimelineEntry::postId).toList();
+    }
+}
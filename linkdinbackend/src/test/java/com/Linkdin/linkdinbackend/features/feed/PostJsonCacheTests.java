@@ -0,0 +1,156 @@
+package com.Linkdin.linkdinbackend.features.feed;
+
+import com.Linkdin.linkdinbackend.features.authentication.dto.AuthorSummary;
+import com.Linkdin.linkdinbackend.features.feed.dto.PostView;
+import com.Linkdin.linkdinbackend.features.feed.service.PostJsonCache;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostJsonCacheTests {
+    // 1 MB of 256-byte blocks: 4096 blocks, and nothing over 1024 blocks is stored
+    private static final int CAPACITY_MB = 1;
+    private static final int BLOCK_SIZE = 256;
+    private static final String LARGE = "x".repeat(200_000);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PostJsonCache cache = new PostJsonCache(objectMapper, meterRegistry, CAPACITY_MB, BLOCK_SIZE);
+
+    @Test
+    void servesTheBytesJacksonWroteFromTheSlabs() throws IOException {
+        PostView post = post(1L, 10L, "Hello 👋", 0, 0);
+
+        String first = write(post);
+        String second = write(post);
+
+        assertThat(first).isEqualTo(objectMapper.writeValueAsString(post));
+        assertThat(second).isEqualTo(first);
+        assertThat(hits()).isEqualTo(1);
+        assertThat(misses()).isEqualTo(1);
+    }
+
+    @Test
+    void spansSeveralBlocks() throws IOException {
+        PostView post = post(1L, 10L, "y".repeat(BLOCK_SIZE * 3 + 17), 0, 0);
+
+        write(post);
+
+        assertThat(write(post)).isEqualTo(objectMapper.writeValueAsString(post));
+        assertThat(hits()).isEqualTo(1);
+    }
+
+    @Test
+    void onlyServesTheRevisionsItRendered() throws IOException {
+        write(post(1L, 10L, "before", 0, 0));
+
+        assertThat(write(post(1L, 10L, "after", 1, 0))).contains("after");
+        assertThat(write(post(1L, 10L, "renamed author", 1, 1))).contains("renamed author");
+        assertThat(write(post(1L, 10L, "renamed author", 1, 1))).contains("renamed author");
+        assertThat(misses()).isEqualTo(3);
+        assertThat(hits()).isEqualTo(1);
+    }
+
+    @Test
+    void writesAJsonArray() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.writeArray(List.of(post(1L, 10L, "one", 0, 0), post(2L, 10L, "two", 0, 0)), out);
+        cache.writeArray(List.of(), out);
+
+        JsonNode posts = objectMapper.readTree(out.toString().substring(0, out.size() - 2));
+        assertThat(posts).hasSize(2);
+        assertThat(posts.get(1).get("content").asText()).isEqualTo("two");
+        assertThat(out.toString()).endsWith("][]");
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedPostWhenFull() throws IOException {
+        for (long id = 1; id <= 5; id++) {
+            write(post(id, 10L, LARGE, 0, 0));
+        }
+        write(post(1L, 10L, LARGE, 0, 0));
+
+        write(post(6L, 10L, LARGE, 0, 0));
+
+        assertThat(evictions()).isEqualTo(1);
+        write(post(1L, 10L, LARGE, 0, 0));
+        assertThat(hits()).isEqualTo(2);
+        write(post(2L, 10L, LARGE, 0, 0));
+        assertThat(misses()).isEqualTo(7);
+        assertThat(usedBytes()).isLessThanOrEqualTo(CAPACITY_MB << 20);
+    }
+
+    @Test
+    void neverStoresAnOversizedPost() throws IOException {
+        write(post(1L, 10L, "small", 0, 0));
+        PostView huge = post(2L, 10L, "z".repeat(300_000), 0, 0);
+
+        assertThat(write(huge)).isEqualTo(objectMapper.writeValueAsString(huge));
+        write(huge);
+
+        assertThat(misses()).isEqualTo(3);
+        assertThat(evictions()).isZero();
+        assertThat(write(post(1L, 10L, "small", 0, 0))).contains("small");
+        assertThat(hits()).isEqualTo(1);
+    }
+
+    @Test
+    void evictionsGiveTheBlocksBack() throws IOException {
+        write(post(1L, 10L, "one", 0, 0));
+        double onePost = usedBytes();
+        write(post(2L, 10L, "two", 0, 0));
+        write(post(3L, 20L, "six", 0, 0));
+        assertThat(onePost).isPositive();
+        assertThat(onePost % BLOCK_SIZE).isZero();
+        assertThat(usedBytes()).isEqualTo(3 * onePost);
+
+        cache.evict(1L);
+        assertThat(usedBytes()).isEqualTo(2 * onePost);
+
+        cache.evictAuthor(10L);
+        assertThat(usedBytes()).isEqualTo(onePost);
+        write(post(3L, 20L, "six", 0, 0));
+        assertThat(hits()).isEqualTo(1);
+
+        cache.evictAll();
+        assertThat(usedBytes()).isZero();
+        write(post(3L, 20L, "six", 0, 0));
+        assertThat(hits()).isEqualTo(1);
+    }
+
+    private String write(PostView post) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.write(post, out);
+        return out.toString();
+    }
+
+    private static PostView post(Long id, Long authorId, String content, long revision, long authorRevision) {
+        AuthorSummary author = new AuthorSummary(authorId, "Ada", "Lovelace", null, null, null, null);
+        LocalDateTime created = LocalDateTime.of(2025, 1, 1, 12, 0);
+        return new PostView(id, content, null, author, 0, 0, revision, authorRevision, created, null);
+    }
+
+    private double hits() {
+        return meterRegistry.counter("feed.json_cache.requests", "result", "hit").count();
+    }
+
+    private double misses() {
+        return meterRegistry.counter("feed.json_cache.requests", "result", "miss").count();
+    }
+
+    private double evictions() {
+        return meterRegistry.counter("feed.json_cache.evictions").count();
+    }
+
+    private double usedBytes() {
+        return meterRegistry.get("feed.json_cache.used_bytes").gauge().value();
+    }
+}
@@ -0,0 +1,179 @@
+package com.Linkdin.linkdinbackend.features.notifications;
+
+import com.Linkdin.linkdinbackend.features.authentication.model.AuthenticationUser;
+import com.Linkdin.linkdinbackend.features.authentication.repository.AuthenticationUserRepository;
+import com.Linkdin.linkdinbackend.features.authentication.service.AuthenticationService;
+import com.Linkdin.linkdinbackend.features.notifications.model.Notification;
+import com.Linkdin.linkdinbackend.features.notifications.model.NotificationType;
+import com.Linkdin.linkdinbackend.features.notifications.repository.NotificationOutboxRepository;
+import com.Linkdin.linkdinbackend.features.notifications.repository.NotificationRepository;
+import com.Linkdin.linkdinbackend.features.notifications.service.NotificationOutboxDispatcher;
+import com.Linkdin.linkdinbackend.features.notifications.service.NotificationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Outbox events folded into notifications by the dispatcher, and the unread counters kept next to them.
+ * <p>
+ * Every test builds its own users and deletes them afterwards; the seed data is not loaded. Resource ids
+ * are arbitrary: the dispatcher never reads the post they point at.
+ */
+@SpringBootTest(properties = {
+        "database.seed=false",
+        "notifications.outbox.poll-interval-ms=3600000"
+})
+class NotificationOutboxDispatcherTests {
+    private static final long POST = 1_000_001L;
+    private static final long OTHER_POST = 1_000_002L;
+
+    @Autowired
+    private AuthenticationUserRepository userRepository;
+    @Autowired
+    private AuthenticationService authenticationService;
+    @Autowired
+    private NotificationService notificationService;
+    @Autowired
+    private NotificationOutboxDispatcher dispatcher;
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private final List<AuthenticationUser> users = new ArrayList<>();
+    private AuthenticationUser author;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            AuthenticationUser user = new AuthenticationUser(UUID.randomUUID() + "@outbox.test", "unused");
+            user.setFirstName("User" + i);
+            user.setLastName("Fixture");
+            users.add(userRepository.save(user));
+        }
+        author = users.get(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (AuthenticationUser user : users) {
+            notificationRepository.deleteAll(notificationRepository.findByRecipient(user));
+        }
+        // deleteUser also drops their outbox events and unread counter
+        for (AuthenticationUser user : users) {
+            authenticationService.deleteUser(user.getId());
+        }
+    }
+
+    @Test
+    void foldsEventsIntoOneRowPerRecipientTypeAndResource() throws InterruptedException {
+        notificationService.enqueueLikeNotification(users.get(1).getId(), author.getId(), POST);
+        notificationService.enqueueLikeNotification(users.get(2).getId(), author.getId(), POST);
+        notificationService.enqueueLikeNotification(users.get(3).getId(), author.getId(), POST);
+        notificationService.enqueueCommentNotification(users.get(1).getId(), author.getId(), POST);
+        notificationService.enqueueLikeNotification(users.get(1).getId(), author.getId(), OTHER_POST);
+
+        dispatchAll();
+
+        List<Notification> notifications = notificationsOf(author);
+        assertThat(notifications).hasSize(3);
+        Notification likes = notifications.get(0);
+        assertThat(likes.getType()).isEqualTo(NotificationType.LIKE);
+        assertThat(likes.getResourceId()).isEqualTo(POST);
+        assertThat(likes.getActorCount()).isEqualTo(3);
+        assertThat(likes.getSampleActorIds()).containsExactly(users.get(3).getId(), users.get(2).getId(), users.get(1).getId());
+        assertThat(notifications.get(1).getType()).isEqualTo(NotificationType.COMMENT);
+        assertThat(notifications.get(1).getActorCount()).isEqualTo(1);
+        assertThat(notifications.get(2).getResourceId()).isEqualTo(OTHER_POST);
+        assertThat(notificationService.getUnreadCount(author.getId())).isEqualTo(3);
+    }
+
+    @Test
+    void laterEventsJoinTheOpenRow() throws InterruptedException {
+        notificationService.enqueueLikeNotification(users.get(1).getId(), author.getId(), POST);
+        dispatchAll();
+        notificationService.enqueueLikeNotification(users.get(2).getId(), author.getId(), POST);
+        notificationService.enqueueLikeNotification(users.get(1).getId(), author.getId(), POST);
+        dispatchAll();
+
+        List<Notification> notifications = notificationsOf(author);
+        assertThat(notifications).hasSize(1);
+        assertThat(notifications.get(0).getActorCount()).isEqualTo(2);
+        assertThat(notifications.get(0).getSampleActorIds()).containsExactly(users.get(1).getId(), users.get(2).getId());
+        // Still unread from the first event, so the badge counts the row once
+        assertThat(notificationService.getUnreadCount(author.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void aReadRowComesBackAsUnread() throws InterruptedException {
+        notificationService.enqueueLikeNotification(users.get(1).getId(), author.getId(), POST);
+        notificationService.enqueueCommentNotification(users.get(1).getId(), author.getId(), POST);
+        dispatchAll();
+        assertThat(notificationService.markAllNotificationsAsRead(author.getId())).isEqualTo(2);
+        assertThat(notificationService.getUnreadCount(author.getId())).isZero();
+
+        notificationService.enqueueLikeNotification(users.get(2).getId(), author.getId(), POST);
+        dispatchAll();
+
+        assertThat(notificationsOf(author)).hasSize(2);
+        assertThat(notificationService.getUnreadCount(author.getId())).isEqualTo(1);
+        Notification likes = notificationsOf(author).get(0);
+        assertThat(likes.isRead()).isFalse();
+        notificationService.markNotificationAsRead(author.getId(), likes.getId());
+        notificationService.markNotificationAsRead(author.getId(), likes.getId());
+        assertThat(notificationService.getUnreadCount(author.getId())).isZero();
+    }
+
+    @Test
+    void keepsRecipientsApartAndSkipsSelfActivity() throws InterruptedException {
+        notificationService.enqueueLikeNotification(users.get(1).getId(), author.getId(), POST);
+        notificationService.enqueueLikeNotification(users.get(1).getId(), users.get(4).getId(), POST);
+        notificationService.enqueueLikeNotification(author.getId(), author.getId(), POST);
+
+        dispatchAll();
+
+        assertThat(notificationsOf(author)).hasSize(1);
+        assertThat(notificationsOf(author).get(0).getActorCount()).isEqualTo(1);
+        assertThat(notificationsOf(users.get(4))).hasSize(1);
+        assertThat(notificationService.getUnreadCount(users.get(4).getId())).isEqualTo(1);
+    }
+
+    @Test
+    void pendingEventsOfADeletedUserAreDropped() throws InterruptedException {
+        AuthenticationUser leaving = users.remove(3);
+        notificationService.enqueueLikeNotification(users.get(1).getId(), author.getId(), POST);
+        dispatchAll();
+        notificationService.enqueueLikeNotification(leaving.getId(), author.getId(), POST);
+        authenticationService.deleteUser(leaving.getId());
+
+        dispatchAll();
+
+        assertThat(notificationsOf(author).get(0).getActorCount()).isEqualTo(1);
+    }
+
+    // The scheduled dispatcher of another cached test context may claim the events first; either way they are
+    // folded once the outbox is empty, because claiming deletes them in the same transaction
+    private void dispatchAll() throws InterruptedException {
+        for (int attempt = 0; attempt < 50 && outboxRepository.count() > 0; attempt++) {
+            dispatcher.dispatch();
+            Thread.sleep(100);
+        }
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    // Oldest first, so rows appear in the order their groups first showed up
+    private List<Notification> notificationsOf(AuthenticationUser recipient) {
+        return notificationRepository.findByRecipient(recipient).stream()
+                .sorted(Comparator.comparing(Notification::getId))
+                .toList();
+    }
+}
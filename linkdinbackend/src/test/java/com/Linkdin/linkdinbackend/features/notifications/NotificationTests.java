@@ -0,0 +1,67 @@
+package com.Linkdin.linkdinbackend.features.notifications;
+
+import com.Linkdin.linkdinbackend.features.authentication.model.AuthenticationUser;
+import com.Linkdin.linkdinbackend.features.notifications.model.Notification;
+import com.Linkdin.linkdinbackend.features.notifications.model.NotificationType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NotificationTests {
+    private static final LocalDateTime LATER = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private final AuthenticationUser recipient = user(100L);
+
+    @Test
+    void startsUnreadWithItsFirstActor() {
+        Notification notification = new Notification(user(1L), recipient, NotificationType.LIKE, 7L);
+
+        assertThat(notification.isRead()).isFalse();
+        assertThat(notification.getActorCount()).isEqualTo(1);
+        assertThat(notification.getSampleActorIds()).containsExactly(1L);
+    }
+
+    @Test
+    void keepsTheMostRecentDistinctActorsFirst() {
+        Notification notification = new Notification(user(1L), recipient, NotificationType.LIKE, 7L);
+        notification.addActor(user(2L), LATER);
+        notification.addActor(user(3L), LATER);
+        AuthenticationUser fourth = user(4L);
+        notification.addActor(fourth, LATER.plusMinutes(1));
+
+        assertThat(notification.getActorCount()).isEqualTo(4);
+        assertThat(notification.getSampleActorIds()).containsExactly(4L, 3L, 2L);
+        assertThat(notification.getActor()).isSameAs(fourth);
+        assertThat(notification.getLastActivityDate()).isEqualTo(LATER.plusMinutes(1));
+    }
+
+    @Test
+    void aSampledActorIsNotCountedTwice() {
+        Notification notification = new Notification(user(1L), recipient, NotificationType.COMMENT, 7L);
+        notification.addActor(user(2L), LATER);
+        notification.addActor(user(1L), LATER);
+
+        assertThat(notification.getActorCount()).isEqualTo(2);
+        assertThat(notification.getSampleActorIds()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void reportsWhetherItWentBackToUnread() {
+        Notification notification = new Notification(user(1L), recipient, NotificationType.LIKE, 7L);
+
+        assertThat(notification.addActor(user(2L), LATER)).isFalse();
+        notification.setRead(true);
+        assertThat(notification.addActor(user(3L), LATER)).isTrue();
+        assertThat(notification.isRead()).isFalse();
+    }
+
+    private static AuthenticationUser user(Long id) {
+        AuthenticationUser user = mock(AuthenticationUser.class);
+        when(user.getId()).thenReturn(id);
+        return user;
+    }
+}
@@ -0,0 +1,182 @@
+package com.Linkdin.linkdinbackend.features.search;
+
+import com.Linkdin.linkdinbackend.features.authentication.dto.AuthorSummary;
+import com.Linkdin.linkdinbackend.features.authentication.repository.AuthenticationUserRepository;
+import com.Linkdin.linkdinbackend.features.search.dto.PeopleSearchResult;
+import com.Linkdin.linkdinbackend.features.search.service.PeopleIndex;
+import com.Linkdin.linkdinbackend.features.ws.dto.RelayedEvent;
+import com.Linkdin.linkdinbackend.features.ws.service.BrokerRelay;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PeopleIndexTests {
+    private final AuthenticationUserRepository userRepository = mock(AuthenticationUserRepository.class);
+    private final BrokerRelay brokerRelay = mock(BrokerRelay.class);
+    private final PeopleIndex index = new PeopleIndex(userRepository, brokerRelay, 5000);
+
+    @Test
+    void matchesPrefixesOfEveryIndexedField() {
+        index.index(person(1L, "Ada", "Lovelace", "Analytical", "Engineer", "London"));
+        index.index(person(2L, "Alan", "Turing", "Bletchley", "Cryptanalyst", "Bletchley"));
+
+        assertThat(ids(index.search("a", null, null, 10))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids(index.search("lov", null, null, 10))).containsExactly(1L);
+        assertThat(ids(index.search("BLETCH", null, null, 10))).containsExactly(2L);
+        assertThat(ids(index.search("crypt", null, null, 10))).containsExactly(2L);
+        assertThat(ids(index.search("lon", null, null, 10))).isEmpty();
+    }
+
+    @Test
+    void everyQueryWordMustMatchSomeWordOfTheUser() {
+        index.index(person(1L, "Ada", "Lovelace", null, null, null));
+        index.index(person(2L, "Ada", "Byron", null, null, null));
+
+        assertThat(ids(index.search("ada lov", null, null, 10))).containsExactly(1L);
+        assertThat(ids(index.search("by ad", null, null, 10))).containsExactly(2L);
+        assertThat(ids(index.search("ada x", null, null, 10))).isEmpty();
+    }
+
+    @Test
+    void foldsCaseAccentsAndPunctuation() {
+        index.index(person(1L, "Zoë", "Ángel-Smith", null, null, null));
+
+        assertThat(ids(index.search("zoe", null, null, 10))).containsExactly(1L);
+        assertThat(ids(index.search("ÁNGEL", null, null, 10))).containsExactly(1L);
+        assertThat(ids(index.search("smi", null, null, 10))).containsExactly(1L);
+    }
+
+    @Test
+    void filtersAndCountsByExactCompanyAndLocation() {
+        index.index(person(1L, "Ada", "One", "Acme", null, "Paris"));
+        index.index(person(2L, "Ada", "Two", "Acme", null, "Berlin"));
+        index.index(person(3L, "Ada", "Three", "Globex", null, "Paris"));
+
+        PeopleSearchResult result = index.search("ada", null, null, 10);
+        assertThat(result.companies()).containsOnly(entry("Acme", 2L), entry("Globex", 1L));
+        assertThat(result.locations()).containsOnly(entry("Paris", 2L), entry("Berlin", 1L));
+
+        assertThat(ids(index.search("ada", "Acme", null, 10))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids(index.search("ada", "Acme", "Paris", 10))).containsExactly(1L);
+        assertThat(ids(index.search(null, null, "Paris", 10))).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(ids(index.search("ada", "Initech", null, 10))).isEmpty();
+    }
+
+    @Test
+    void emptyQueryOnlyReturnsFacets() {
+        index.index(person(1L, "Ada", "One", "Acme", null, "Paris"));
+
+        PeopleSearchResult result = index.search(" ", null, null, 10);
+        assertThat(result.people()).isEmpty();
+        assertThat(result.companies()).containsOnly(entry("Acme", 1L));
+        assertThat(result.locations()).containsOnly(entry("Paris", 1L));
+    }
+
+    @Test
+    void limitsPeopleButCountsEveryScannedMatch() {
+        for (long id = 1; id <= 5; id++) {
+            index.index(person(id, "Ada", "N" + id, "Acme", null, null));
+        }
+
+        PeopleSearchResult result = index.search("ada", null, null, 2);
+        assertThat(result.people()).hasSize(2);
+        assertThat(result.companies()).containsOnly(entry("Acme", 5L));
+    }
+
+    @Test
+    void reindexingReplacesOldWordsAndFacets() {
+        index.index(person(1L, "Ada", "Lovelace", "Acme", null, "Paris"));
+        index.index(person(1L, "Ada", "King", "Globex", null, "London"));
+
+        assertThat(ids(index.search("lov", null, null, 10))).isEmpty();
+        assertThat(ids(index.search("king", null, null, 10))).containsExactly(1L);
+        assertThat(index.search(null, "Acme", null, 10).people()).isEmpty();
+        assertThat(index.search("ada", null, null, 10).locations()).containsOnly(entry("London", 1L));
+    }
+
+    @Test
+    void removeDropsTheUserEverywhere() {
+        index.index(person(1L, "Ada", "Lovelace", "Acme", null, "Paris"));
+        index.remove(1L);
+        index.remove(2L);
+
+        assertThat(ids(index.search("ada", null, null, 10))).isEmpty();
+        PeopleSearchResult facets = index.search(null, null, null, 10);
+        assertThat(facets.companies()).isEmpty();
+        assertThat(facets.locations()).isEmpty();
+    }
+
+    @Test
+    void buildReadsPagesUntilOneComesBackShort() {
+        List<AuthorSummary> firstPage = new ArrayList<>();
+        LongStream.rangeClosed(1, 1000).forEach(id -> firstPage.add(person(id, "Ada", "N" + id, null, null, null)));
+        when(userRepository.findSummariesAfter(eq(0L), any(Limit.class))).thenReturn(firstPage);
+        when(userRepository.findSummariesAfter(eq(1000L), any(Limit.class)))
+                .thenReturn(List.of(person(1001L, "Alan", "Turing", null, null, null)));
+
+        index.build();
+
+        verify(userRepository).findSummariesAfter(eq(1000L), any(Limit.class));
+        assertThat(ids(index.search("n999", null, null, 10))).containsExactly(999L);
+        assertThat(ids(index.search("turing", null, null, 10))).containsExactly(1001L);
+    }
+
+    @Test
+    void appliesTheChangesAnotherNodeBroadcast() {
+        PeopleIndex otherNode = new PeopleIndex(userRepository, brokerRelay, 5000);
+        index.index(person(1L, "Ada", "Lovelace", "Acme", null, "Paris"));
+        index.index(person(2L, "Alan", "Turing", null, null, null));
+        index.remove(2L);
+
+        ArgumentCaptor<String> topics = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object> payloads = ArgumentCaptor.forClass(Object.class);
+        verify(brokerRelay, times(3)).broadcast(topics.capture(), payloads.capture());
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (int i = 0; i < 3; i++) {
+            otherNode.onRelayed(new RelayedEvent(topics.getAllValues().get(i), objectMapper.valueToTree(payloads.getAllValues().get(i))));
+        }
+
+        assertThat(otherNode.search("ada", null, null, 10).people()).containsExactly(person(1L, "Ada", "Lovelace", "Acme", null, "Paris"));
+        assertThat(ids(otherNode.search("turing", null, null, 10))).isEmpty();
+        verify(brokerRelay, times(3)).broadcast(any(), any());
+    }
+
+    @Test
+    void rebuildDropsUsersDeletedMeanwhileButKeepsNewerOnes() {
+        index.index(person(1L, "Ada", "Lovelace", null, null, null));
+        index.index(person(2L, "Alan", "Turing", null, null, null));
+        index.index(person(5L, "Grace", "Hopper", null, null, null));
+        when(userRepository.findSummariesAfter(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(person(1L, "Ada", "King", null, null, null), person(3L, "Edsger", "Dijkstra", null, null, null)));
+
+        index.rebuild();
+
+        assertThat(ids(index.search("king", null, null, 10))).containsExactly(1L);
+        assertThat(ids(index.search("lovelace", null, null, 10))).isEmpty();
+        assertThat(ids(index.search("turing", null, null, 10))).isEmpty();
+        assertThat(ids(index.search("dijkstra", null, null, 10))).containsExactly(3L);
+        assertThat(ids(index.search("hopper", null, null, 10))).containsExactly(5L);
+    }
+
+    private static AuthorSummary person(Long id, String firstName, String lastName, String company, String position, String location) {
+        return new AuthorSummary(id, firstName, lastName, position, company, location, null);
+    }
+
+    private static List<Long> ids(PeopleSearchResult result) {
+        return result.people().stream().map(AuthorSummary::id).toList();
+    }
+}
@@ -0,0 +1,220 @@
+package com.Linkdin.linkdinbackend.features.ws;
+
+import com.Linkdin.linkdinbackend.features.ws.service.OutboundBackpressure;
+import com.Linkdin.linkdinbackend.features.ws.service.OutboundBackpressure.OverflowPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Every test first sends a frame the client never finishes reading, so the frames after it stay queued
+ * until {@link #release} opens the latch.
+ */
+class OutboundBackpressureTests {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final BlockingQueue<WebSocketMessage<?>> sent = new LinkedBlockingQueue<>();
+    private final WebSocketSession session = mock(WebSocketSession.class);
+    private OutboundBackpressure backpressure;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        backpressure.shutdown();
+    }
+
+    @Test
+    void conflatesQueuedFramesOfTheSameSubscription() throws Exception {
+        WebSocketSession queue = connect(100, 1 << 20, 10_000, OverflowPolicy.DROP);
+        block(queue);
+
+        queue.sendMessage(frame("/topic/likes/1", "sub-1", "1"));
+        queue.sendMessage(frame("/topic/likes/2", "sub-2", "1"));
+        queue.sendMessage(frame("/topic/likes/1", "sub-1", "2"));
+        queue.sendMessage(frame("/topic/likes/1", "sub-1", "3"));
+        queue.sendMessage(frame("/topic/comments/1", "sub-3", "a"));
+        queue.sendMessage(frame("/topic/comments/1", "sub-3", "b"));
+        release();
+
+        assertThat(bodies(sent(4))).containsExactly("3", "1", "a", "b");
+        assertThat(counter("ws.outbound.frames", "result", "conflated")).isEqualTo(2);
+    }
+
+    @Test
+    void dropsTheOldestFramesWhenFull() throws Exception {
+        WebSocketSession queue = connect(2, 1 << 20, 10_000, OverflowPolicy.DROP);
+        block(queue);
+
+        for (int i = 1; i <= 4; i++) {
+            queue.sendMessage(frame("/topic/comments/1", "sub-1", String.valueOf(i)));
+        }
+        release();
+
+        assertThat(bodies(sent(2))).containsExactly("3", "4");
+        assertThat(counter("ws.outbound.frames", "result", "dropped")).isEqualTo(2);
+    }
+
+    @Test
+    void dropsForTheByteLimitToo() throws Exception {
+        WebSocketSession queue = connect(100, 150, 10_000, OverflowPolicy.DROP);
+        block(queue);
+
+        queue.sendMessage(frame("/topic/comments/1", "sub-1", "x".repeat(40)));
+        queue.sendMessage(frame("/topic/comments/1", "sub-1", "y".repeat(40)));
+        release();
+
+        assertThat(bodies(sent(1))).containsExactly("y".repeat(40));
+        assertThat(counter("ws.outbound.frames", "result", "dropped")).isEqualTo(1);
+    }
+
+    @Test
+    void disconnectsWhenFullUnderTheDisconnectPolicy() throws Exception {
+        WebSocketSession queue = connect(2, 1 << 20, 10_000, OverflowPolicy.DISCONNECT);
+        block(queue);
+
+        queue.sendMessage(frame("/topic/comments/1", "sub-1", "1"));
+        queue.sendMessage(frame("/topic/comments/1", "sub-1", "2"));
+        assertThatThrownBy(() -> queue.sendMessage(frame("/topic/comments/1", "sub-1", "3")))
+                .isInstanceOf(SessionLimitExceededException.class);
+        queue.sendMessage(frame("/topic/comments/1", "sub-1", "4"));
+        release();
+
+        assertThat(sent.poll(200, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(counter("ws.outbound.disconnects", "reason", "overflow")).isEqualTo(1);
+    }
+
+    @Test
+    void disconnectsALaggingSessionOnTheNextSend() throws Exception {
+        WebSocketSession queue = connect(100, 1 << 20, 50, OverflowPolicy.DROP);
+        block(queue);
+
+        queue.sendMessage(frame("/topic/comments/1", "sub-1", "1"));
+        Thread.sleep(100);
+
+        assertThatThrownBy(() -> queue.sendMessage(frame("/topic/comments/1", "sub-1", "2")))
+                .isInstanceOf(SessionLimitExceededException.class);
+        assertThat(counter("ws.outbound.disconnects", "reason", "lag")).isEqualTo(1);
+    }
+
+    @Test
+    void sweepClosesALaggingSessionWithoutAnotherSend() throws Exception {
+        WebSocketSession queue = connect(100, 1 << 20, 50, OverflowPolicy.DROP);
+        block(queue);
+        queue.sendMessage(frame("/topic/comments/1", "sub-1", "1"));
+
+        backpressure.closeLaggingSessions();
+        verify(session, never()).close(any());
+
+        Thread.sleep(100);
+        backpressure.closeLaggingSessions();
+        backpressure.closeLaggingSessions();
+
+        verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertThat(counter("ws.outbound.disconnects", "reason", "lag")).isEqualTo(1);
+        assertThat(meterRegistry.get("ws.outbound.session.lag").summary().max()).isGreaterThan(50);
+    }
+
+    @Test
+    void recordsTheDepthOfEachSessionQueue() throws Exception {
+        WebSocketSession queue = connect(100, 1 << 20, 10_000, OverflowPolicy.DROP);
+        block(queue);
+
+        for (int i = 1; i <= 3; i++) {
+            queue.sendMessage(frame("/topic/comments/1", "sub-1", String.valueOf(i)));
+        }
+
+        assertThat(meterRegistry.get("ws.outbound.session.queued").summary().max()).isEqualTo(3);
+        assertThat(meterRegistry.get("ws.outbound.queued").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    void forgetsClosedSessions() throws Exception {
+        WebSocketHandler handler = mock(WebSocketHandler.class);
+        backpressure = new OutboundBackpressure(meterRegistry, 1, 100, 1 << 20, 10_000, OverflowPolicy.DROP, List.of("/topic/likes/"));
+        when(session.getId()).thenReturn("session-1");
+        WebSocketHandler decorated = backpressure.decorate(handler);
+        decorated.afterConnectionEstablished(session);
+        assertThat(meterRegistry.get("ws.outbound.sessions").gauge().value()).isEqualTo(1);
+
+        decorated.afterConnectionClosed(session, CloseStatus.NORMAL);
+
+        assertThat(meterRegistry.get("ws.outbound.sessions").gauge().value()).isZero();
+        verify(handler).afterConnectionClosed(session, CloseStatus.NORMAL);
+    }
+
+    // The queue the STOMP handler would see in place of the session
+    private WebSocketSession connect(int maxMessages, int maxBytes, long maxLagMillis, OverflowPolicy policy) throws Exception {
+        backpressure = new OutboundBackpressure(meterRegistry, 1, maxMessages, maxBytes, maxLagMillis, policy, List.of("/topic/likes/"));
+        when(session.getId()).thenReturn("session-1");
+        doAnswer(invocation -> {
+            sent.add(invocation.getArgument(0));
+            release.await();
+            return null;
+        }).when(session).sendMessage(any());
+        WebSocketHandler handler = mock(WebSocketHandler.class);
+        backpressure.decorate(handler).afterConnectionEstablished(session);
+        ArgumentCaptor<WebSocketSession> queue = ArgumentCaptor.forClass(WebSocketSession.class);
+        verify(handler).afterConnectionEstablished(queue.capture());
+        return queue.getValue();
+    }
+
+    // Waits until the writer is stuck sending the first frame
+    private void block(WebSocketSession queue) throws Exception {
+        queue.sendMessage(frame("/topic/comments/0", "sub-0", "blocker"));
+        assertThat(sent.poll(5, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    private void release() {
+        release.countDown();
+    }
+
+    private List<WebSocketMessage<?>> sent(int expected) throws InterruptedException {
+        List<WebSocketMessage<?>> messages = new ArrayList<>();
+        while (messages.size() < expected) {
+            WebSocketMessage<?> message = sent.poll(5, TimeUnit.SECONDS);
+            if (message == null) {
+                break;
+            }
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    private static List<String> bodies(List<WebSocketMessage<?>> messages) {
+        return messages.stream()
+                .map(message -> ((TextMessage) message).getPayload())
+                .map(frame -> frame.substring(frame.indexOf("\n\n") + 2, frame.length() - 1))
+                .toList();
+    }
+
+    private double counter(String name, String tag, String value) {
+        return meterRegistry.counter(name, tag, value).count();
+    }
+
+    private static TextMessage frame(String destination, String subscription, String body) {
+        return new TextMessage("MESSAGE\ndestination:" + destination + "\nsubscription:" + subscription + "\n\n" + body + "\0");
+    }
+}
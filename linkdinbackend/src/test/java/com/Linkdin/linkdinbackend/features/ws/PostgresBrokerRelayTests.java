@@ -0,0 +1,134 @@
+package com.Linkdin.linkdinbackend.features.ws;
+
+import com.Linkdin.linkdinbackend.features.ws.service.BrokerRelay;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Relayed messages and broadcasts sent from inside a transaction, watched from a connection of its own that
+ * LISTENs like another node would.
+ */
+@SpringBootTest(properties = {
+        "database.seed=false",
+        "ws.relay.mode=postgres",
+        "notifications.outbox.poll-interval-ms=3600000"
+})
+class PostgresBrokerRelayTests {
+    private static final String CHANNEL = "ws_relay";
+    private static final String DESTINATION = "/topic/relay-test";
+
+    @Autowired
+    private BrokerRelay brokerRelay;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Connection connection;
+    private PGConnection listener;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = dataSource.getConnection();
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        }
+        listener = connection.unwrap(PGConnection.class);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("UNLISTEN " + CHANNEL);
+        }
+        connection.close();
+    }
+
+    @Test
+    void relaysAMessagePublishedInATransactionWhenItCommits() throws Exception {
+        announceRemoteSubscriber();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            brokerRelay.publish(DESTINATION, Map.of("text", "committed"));
+            assertThat(awaitNotification("committed", 300)).isNull();
+        });
+
+        assertThat(awaitNotification("committed", 5000)).contains(DESTINATION);
+    }
+
+    @Test
+    void dropsABroadcastWhoseTransactionRollsBack() throws Exception {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            brokerRelay.broadcast("relay.test", Map.of("text", "rolled back"));
+            status.setRollbackOnly();
+        });
+
+        assertThat(awaitNotification("rolled back", 1000)).isNull();
+        brokerRelay.broadcast("relay.test", Map.of("text", "no transaction"));
+        assertThat(awaitNotification("no transaction", 5000)).isNotNull();
+    }
+
+    @Test
+    void aFailedBroadcastDoesNotAbortTheCallersTransaction() throws Exception {
+        Long answer = new TransactionTemplate(transactionManager).execute(status -> {
+            // Too large for a NOTIFY: pg_notify fails, and only the savepoint is rolled back
+            brokerRelay.broadcast("relay.test", Map.of("text", "x".repeat(10_000)));
+            brokerRelay.broadcast("relay.test", Map.of("text", "after the failure"));
+            return jdbcTemplate.queryForObject("SELECT 42", Long.class);
+        });
+
+        assertThat(answer).isEqualTo(42L);
+        assertThat(awaitNotification("after the failure", 5000)).isNotNull();
+    }
+
+    // Says, as another node would, that it has a session subscribed to DESTINATION
+    private void announceRemoteSubscriber() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT pg_notify('" + CHANNEL + "', '{\"node\":\"other-node\",\"active\":[\"" + DESTINATION + "\"]}')");
+        }
+        for (int attempt = 0; attempt < 50 && !brokerRelay.hasSubscribers(DESTINATION); attempt++) {
+            Thread.sleep(100);
+        }
+        assertThat(brokerRelay.hasSubscribers(DESTINATION)).isTrue();
+    }
+
+    // The first notification containing the text, or null; presence traffic of the node itself is skipped
+    private String awaitNotification(String text, long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        try {
+            while (System.currentTimeMillis() < deadline) {
+                PGNotification[] notifications = listener.getNotifications((int) Math.max(1, deadline - System.currentTimeMillis()));
+                if (notifications == null) {
+                    continue;
+                }
+                for (PGNotification notification : notifications) {
+                    if (notification.getParameter().contains(text)) {
+                        return notification.getParameter();
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return null;
+    }
+}